@@ -0,0 +1,73 @@
+package com.epam.campstone.eventbookingsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache regions, kept in-process in Caffeine through JCache.
+ * <p>
+ * Entity regions hold the event page graph ({@code Event}, its venue, city, type and status).
+ * Every region is bounded in size and expires entries after a TTL, which also caps how long a
+ * change made outside Hibernate can stay visible; such changes are evicted explicitly through
+ * {@link com.epam.campstone.eventbookingsystem.service.api.EventCacheService}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String EVENT_REGION = "event";
+    public static final String VENUE_REGION = "venue";
+    public static final String CITY_REGION = "city";
+    public static final String EVENT_TYPE_REGION = "event-type";
+    public static final String EVENT_STATUS_REGION = "event-status";
+    public static final String UPCOMING_EVENTS_REGION = "upcoming-events";
+
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.entity.max-size:10000}") long entityMaxSize,
+            @Value("${app.cache.entity.ttl-seconds:600}") long entityTtlSeconds,
+            @Value("${app.cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${app.cache.query.ttl-seconds:30}") long queryTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : List.of(EVENT_REGION, VENUE_REGION, CITY_REGION, EVENT_TYPE_REGION, EVENT_STATUS_REGION)) {
+            cacheManager.createCache(region, regionConfiguration(entityMaxSize, entityTtlSeconds));
+        }
+        for (String region : List.of(UPCOMING_EVENTS_REGION, DEFAULT_QUERY_RESULTS_REGION)) {
+            cacheManager.createCache(region, regionConfiguration(queryMaxSize, queryTtlSeconds));
+        }
+        // Table timestamps decide whether a cached query result is stale; evicting one would serve stale results
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        // Hibernate stores immutable disassembled entries, so copying them on every access is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
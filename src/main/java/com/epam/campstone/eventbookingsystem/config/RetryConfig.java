@@ -0,0 +1,21 @@
+package com.epam.campstone.eventbookingsystem.config;
+
+import com.epam.campstone.eventbookingsystem.util.RetryPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Retry policy for service methods that update versioned entities.
+ */
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    public RetryPolicy optimisticLockRetryPolicy(
+            @Value("${app.retry.optimistic-lock.max-attempts:4}") int maxAttempts,
+            @Value("${app.retry.optimistic-lock.base-delay-ms:10}") long baseDelayMillis,
+            @Value("${app.retry.optimistic-lock.max-delay-ms:200}") long maxDelayMillis) {
+        return new RetryPolicy(maxAttempts, baseDelayMillis, maxDelayMillis);
+    }
+}
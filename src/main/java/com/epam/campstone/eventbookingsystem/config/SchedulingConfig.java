@@ -0,0 +1,15 @@
+package com.epam.campstone.eventbookingsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the seat inventory write-behind and hold expiry,
+ * and {@code @Async} methods. With {@code spring.threads.virtual.enabled} both run on virtual threads.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,86 @@
+package com.epam.campstone.eventbookingsystem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread, e.g. while blocking inside a
+ * {@code synchronized} block of a JDBC driver or Hibernate. Pinned threads hold a carrier for the
+ * whole wait, so a few of them are enough to starve the scheduler on a small node.
+ * <p>
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process; no recording file is written.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "app.threads.pinning-monitor.enabled"}, havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning-monitor.threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @return the number of pinning events seen since startup
+     */
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        log.warn("Virtual thread {} pinned its carrier for {} ms at:{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(),
+                formatStackTrace(event.getStackTrace()));
+    }
+
+    private static String formatStackTrace(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::formatFrame)
+                .collect(Collectors.joining());
+    }
+
+    private static String formatFrame(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
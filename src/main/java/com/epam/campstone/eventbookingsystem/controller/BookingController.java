@@ -1,14 +1,19 @@
 package com.epam.campstone.eventbookingsystem.controller;
 
+import com.epam.campstone.eventbookingsystem.dto.AdmissionStatusDto;
 import com.epam.campstone.eventbookingsystem.dto.BookingDto;
 import com.epam.campstone.eventbookingsystem.model.Booking;
 import com.epam.campstone.eventbookingsystem.model.Event;
-import com.epam.campstone.eventbookingsystem.model.User;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
+import com.epam.campstone.eventbookingsystem.service.api.BookingAdmissionService;
 import com.epam.campstone.eventbookingsystem.service.api.BookingService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
+import com.epam.campstone.eventbookingsystem.service.api.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
@@ -19,22 +24,31 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/bookings")
 @Slf4j
 public class BookingController {
 
+    private static final String BOOKING_SCOPE = "booking";
+
     private final BookingService bookingService;
     private final EventService eventService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final BookingAdmissionService bookingAdmissionService;
+    private final IdempotencyService idempotencyService;
 
     public BookingController(BookingService bookingService,
                              EventService eventService,
-                             UserService userService) {
+                             CurrentUserService currentUserService,
+                             BookingAdmissionService bookingAdmissionService,
+                             IdempotencyService idempotencyService) {
         this.bookingService = bookingService;
         this.eventService = eventService;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
+        this.bookingAdmissionService = bookingAdmissionService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/new/{eventId}")
@@ -47,15 +61,16 @@ public class BookingController {
 
         try {
             // Get event details
-            Event event = eventService.findById(eventId)
+            Event event = eventService.findWithDetailsById(eventId)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
 
             // Get current user details
-            Optional<User> user = userService.findByEmail(currentUser.getUsername());
+            Optional<AuthenticatedUser> user = currentUserService.findByEmail(currentUser.getUsername());
 
             // Create new booking DTO with pre-filled user data if available
             BookingDto bookingDto = new BookingDto();
             bookingDto.setEventId(eventId);
+            bookingDto.setIdempotencyKey(UUID.randomUUID().toString());
 
             // Add data to model
             model.addAttribute("event", event);
@@ -99,6 +114,29 @@ public class BookingController {
                 return "redirect:/bookings/new/" + bookingDto.getEventId();
             }
 
+            // A resubmitted form gets the original booking instead of a second one
+            Optional<Long> replayedBookingId = idempotencyService.findResult(
+                    BOOKING_SCOPE, currentUser.getUsername(), bookingDto.getIdempotencyKey(), Long.class);
+            if (replayedBookingId.isPresent()) {
+                redirectAttributes.addFlashAttribute("successMessage",
+                        "Booking confirmed! Your booking ID is: " + replayedBookingId.get());
+                return "redirect:/dashboard";
+            }
+
+            // Wait in line when the event is under heavy demand
+            AdmissionStatusDto admission = bookingAdmissionService.enter(bookingDto.getEventId(), currentUser.getUsername());
+            if (!admission.isAdmitted()) {
+                redirectAttributes.addFlashAttribute("errorMessage", String.format(
+                        "This event is in high demand. You are number %d in line, estimated wait %d seconds. " +
+                                "Please keep this page open and submit your booking again once it is your turn.",
+                        admission.getPosition(), admission.getEtaSeconds()));
+                // The form polls the queue status so the place in line is not abandoned
+                redirectAttributes.addFlashAttribute("queued", true);
+                redirectAttributes.addFlashAttribute("booking", bookingDto);
+                return "redirect:/bookings/new/" + bookingDto.getEventId();
+            }
+            long admittedAt = System.nanoTime();
+
             // Get event to calculate pricing
             Event event = eventService.findById(bookingDto.getEventId())
                     .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -114,11 +152,18 @@ public class BookingController {
             bookingDto.setPrice(totalAmount);
 
             // Create booking
-            Booking booking = bookingService.createBooking(currentUser.getUsername(), bookingDto);
+            Long bookingId;
+            try {
+                bookingId = idempotencyService.execute(BOOKING_SCOPE, currentUser.getUsername(),
+                        bookingDto.getIdempotencyKey(), () -> createBookingOnce(currentUser.getUsername(), bookingDto));
+            } finally {
+                bookingAdmissionService.complete(bookingDto.getEventId(), currentUser.getUsername(),
+                        System.nanoTime() - admittedAt);
+            }
 
-            log.info("Booking created successfully: {} with total amount: {}", booking.getId(), totalAmount);
+            log.info("Booking created successfully: {} with total amount: {}", bookingId, totalAmount);
             redirectAttributes.addFlashAttribute("successMessage",
-                    "Booking confirmed! Your booking ID is: " + booking.getId());
+                    "Booking confirmed! Your booking ID is: " + bookingId);
 
 //            return "redirect:/bookings/" + booking.getId();
             return "redirect:/dashboard";/*/" + booking.getId()*/
@@ -137,6 +182,40 @@ public class BookingController {
             return "redirect:/bookings/new/" + bookingDto.getEventId();
         }
     }
+    /**
+     * Create a booking, or find the one created by a concurrent request with the same idempotency key
+     * that won the race on the unique index.
+     */
+    private Long createBookingOnce(String userEmail, BookingDto bookingDto) {
+        try {
+            return bookingService.createBooking(userEmail, bookingDto).getId();
+        } catch (DataIntegrityViolationException e) {
+            if (bookingDto.getIdempotencyKey() == null) {
+                throw e;
+            }
+            return bookingService.findByIdempotencyKey(userEmail, bookingDto.getIdempotencyKey())
+                    .map(Booking::getId)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Get the place of the current user in the booking waiting room of an event
+     *
+     * @param eventId     the event ID
+     * @param currentUser the current user
+     * @return the position and estimated wait, or 404 if the user is not queued
+     */
+    @GetMapping("/queue/{eventId}")
+    @ResponseBody
+    public ResponseEntity<AdmissionStatusDto> getQueueStatus(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal UserDetails currentUser) {
+        return bookingAdmissionService.status(eventId, currentUser.getUsername())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Handle booking form validation errors
      */
@@ -1,19 +1,20 @@
 package com.epam.campstone.eventbookingsystem.controller;
 
 import com.epam.campstone.eventbookingsystem.dto.CategoryOptionDto;
+import com.epam.campstone.eventbookingsystem.dto.CursorPageDto;
 import com.epam.campstone.eventbookingsystem.dto.EventSearchDto;
+import com.epam.campstone.eventbookingsystem.dto.SeatDto;
 import com.epam.campstone.eventbookingsystem.exception.EventNotFoundException;
 import com.epam.campstone.eventbookingsystem.model.City;
 import com.epam.campstone.eventbookingsystem.model.Event;
-import com.epam.campstone.eventbookingsystem.model.User;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,8 +24,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -33,57 +36,51 @@ import java.util.List;
 @Slf4j
 public class EventController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final EventService eventService;
     private final CityService cityService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final SeatInventoryService seatInventoryService;
 
     public EventController(EventService eventService,
                            CityService cityService,
-                           UserService userService) {
+                           CurrentUserService currentUserService,
+                           SeatInventoryService seatInventoryService) {
         this.eventService = eventService;
         this.cityService = cityService;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
+        this.seatInventoryService = seatInventoryService;
     }
 
     /**
-     * Lists events with pagination and sorting options.
+     * Lists events in chronological order with keyset pagination.
      *
-     * <p>This method retrieves a paginated list of events, sorted according to
-     * the specified parameters. It adds the list of events and pagination details
-     * to the model for rendering in the view.
+     * <p>This method retrieves the page of events that follows the given cursor. It adds
+     * the events, the cursor of the next page and an estimated total to the model for
+     * rendering in the view.
      *
-     * @param page      the page number to retrieve (default is 0)
-     * @param size      the number of events per page (default is 10)
-     * @param sortBy    the attribute to sort the events by (default is "eventDate")
-     * @param direction the sorting direction, either "asc" or "desc" (default is "asc")
-     * @param model     the model to add attributes to
+     * @param cursor the cursor of the page to retrieve, the first page if omitted
+     * @param size   the number of events per page (default is 10)
+     * @param model  the model to add attributes to
      * @return the view name for the events list
      */
     @GetMapping
     public String listEvents(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "eventDate") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction,
             Model model) {
 
-        log.info("Listing events, page: {}, size: {}, sortBy: {}, direction: {}", page, size, sortBy, direction);
-
-        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction)
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
+        log.info("Listing events, cursor: {}, size: {}", cursor, size);
 
-        Pageable pageable = PageRequest.of(page, size, sortDirection, sortBy);
-        Page<Event> eventsPage = eventService.findEvents(pageable);
+        CursorPageDto<EventCardView> eventsPage = eventService.findEvents(cursor, pageSize(size));
 
-        log.info("Found {} events", eventsPage.getTotalElements());
+        log.info("Found {} events", eventsPage.getContent().size());
 
         model.addAttribute("events", eventsPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", eventsPage.getTotalPages());
+        model.addAttribute("nextCursor", eventsPage.getNextCursor());
+        model.addAttribute("hasNext", eventsPage.hasNext());
         model.addAttribute("totalItems", eventsPage.getTotalElements());
-        model.addAttribute("sortBy", sortBy);
-        model.addAttribute("direction", direction);
 
         return "events/list";
     }
@@ -101,7 +98,7 @@ public class EventController {
     public String viewEvent(@PathVariable Long id, Model model) {
         log.info("Viewing event: {}", id);
 
-        Event event = eventService.findById(id)
+        Event event = eventService.findWithDetailsById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
 
 
@@ -110,13 +107,58 @@ public class EventController {
     }
 
 
+    /**
+     * Finds the best block of adjacent free seats of an event without reserving them.
+     *
+     * @param id       the ID of the event
+     * @param count    the number of seats wanted together
+     * @param section  the section to search, any section if omitted
+     * @param maxPrice the highest base price per seat, no limit if omitted
+     * @return the seats of the block, empty if no row has enough adjacent free seats
+     */
+    @GetMapping("/{id}/best-seats")
+    @ResponseBody
+    public List<SeatDto> findBestSeats(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int count,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        if (count < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat count must be positive");
+        }
+        return seatInventoryService.findBestAvailable(id, count, section, maxPrice);
+    }
+
+    /**
+     * Searches events. Every filter is optional and filters combine with AND.
+     *
+     * @param location  the city name
+     * @param date      the earliest event date, YYYY-MM-DD
+     * @param category  the event type name
+     * @param dateTo    the latest event date
+     * @param cityId    the city ID, takes precedence over {@code location}
+     * @param typeId    the event type ID, takes precedence over {@code category}
+     * @param minPrice  the lowest minimum price
+     * @param maxPrice  the highest minimum price
+     * @param q         words to find in the title, venue name or description; each matches as a prefix
+     * @param cursor    the cursor of the page to retrieve, the first page if omitted
+     * @param size      the number of events per page
+     * @param withTotal whether to count all matching events
+     */
     @GetMapping("/search")
     public String searchEvents(
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String date,
             @RequestParam(required = false) String category,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) Integer cityId,
+            @RequestParam(required = false) Long typeId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             Model model,
             Authentication authentication) {
 
@@ -130,6 +172,12 @@ public class EventController {
         EventSearchDto searchParams = new EventSearchDto();
         searchParams.setCity(location);
         searchParams.setCategory(category);
+        searchParams.setDateTo(dateTo);
+        searchParams.setCityId(cityId);
+        searchParams.setTypeId(typeId);
+        searchParams.setMinPrice(minPrice);
+        searchParams.setMaxPrice(maxPrice);
+        searchParams.setQuery(q);
 
         if (date != null && !date.isEmpty()) {
             try {
@@ -143,31 +191,29 @@ public class EventController {
         model.addAttribute("searchParams", searchParams);
 
         try {
-            // Perform search with correct sorting by eventDate and startTime
-            Sort sort = Sort.by("eventDate").ascending();
-            Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Event> searchResults = eventService.searchEvents(searchParams, pageable);
+            // Results come in chronological order, continuing after the cursor
+            CursorPageDto<EventCardView> searchResults = eventService.searchEvents(searchParams, cursor, pageSize(size), withTotal);
 
             model.addAttribute("searchResults", searchResults.getContent());
-            model.addAttribute("totalPages", searchResults.getTotalPages());
-            model.addAttribute("currentPage", page);
+            model.addAttribute("nextCursor", searchResults.getNextCursor());
+            model.addAttribute("hasNext", searchResults.hasNext());
             model.addAttribute("totalResults", searchResults.getTotalElements());
 
             // Still show featured events
-            List<Event> featuredEvents = eventService.getFeaturedEvents(4);
+            List<EventCardView> featuredEvents = eventService.getFeaturedEvents(4);
             model.addAttribute("featuredEvents", featuredEvents);
 
             model.addAttribute("pageTitle", "Search Results - Ticketo");
             model.addAttribute("searchTitle", "Search Results");
 
-            log.info("Search returned {} results", searchResults.getTotalElements());
+            log.info("Search returned {} results", searchResults.getContent().size());
 
         } catch (Exception e) {
             log.error("Error searching events", e);
             model.addAttribute("error", "An error occurred while searching. Please try again.");
 
             // Fallback to featured events
-            List<Event> featuredEvents = eventService.getFeaturedEvents(6);
+            List<EventCardView> featuredEvents = eventService.getFeaturedEvents(6);
             model.addAttribute("featuredEvents", featuredEvents);
         }
 
@@ -176,46 +222,27 @@ public class EventController {
 
     @GetMapping("/all")
     public String listAllEvents(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             Model model,
             Authentication authentication) {
 
-        // Add user info if authenticated
-        if (authentication != null && authentication.isAuthenticated()
-                && !authentication.getName().equals("anonymousUser")) {
-            User user = userService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
-            model.addAttribute("user", user);
-        }
-
         addCommonModelAttributes(model, authentication);
 
         try {
-            // Create sort object
-            Sort sort = Sort.by("dateTime").ascending();
-            if ("price".equals(sortBy)) {
-                sort = Sort.by("minPrice").ascending();
-            } else if ("popularity".equals(sortBy)) {
-                sort = Sort.by("bookingCount").descending();
-            } else if ("date".equals(sortBy)) {
-                sort = Sort.by("dateTime").ascending();
-            }
-
-            Pageable pageable = PageRequest.of(page, size, sort);
-
             // Create search criteria
             EventSearchDto searchDto = new EventSearchDto();
             searchDto.setCategory(category);
             searchDto.setCity(location);
 
-            Page<Event> events = eventService.searchEvents(searchDto, pageable);
+            CursorPageDto<EventCardView> events = eventService.searchEvents(searchDto, cursor, pageSize(size), withTotal);
 
             model.addAttribute("searchResults", events.getContent());
-            model.addAttribute("totalPages", events.getTotalPages());
-            model.addAttribute("currentPage", page);
+            model.addAttribute("nextCursor", events.getNextCursor());
+            model.addAttribute("hasNext", events.hasNext());
             model.addAttribute("totalResults", events.getTotalElements());
             model.addAttribute("pageTitle", "All Events - Ticketo");
             model.addAttribute("featuredTitle", "All Events");
@@ -237,12 +264,16 @@ public class EventController {
     @GetMapping("/api/events/featured")
     public String getFeaturedEventsJson(Model model) {
         // This could be used for AJAX requests if needed
-        List<Event> featuredEvents = eventService.getFeaturedEvents(10);
+        List<EventCardView> featuredEvents = eventService.getFeaturedEvents(10);
         model.addAttribute("events", featuredEvents);
         return "api/events";
     }
 
 
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     /**
      * Add common model attributes used across multiple pages
      */
@@ -250,11 +281,11 @@ public class EventController {
         // Add user info if authenticated
         if (authentication != null && authentication.isAuthenticated()
                 && !authentication.getName().equals("anonymousUser")) {
-            User user = userService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
+            AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
             model.addAttribute("user", user);
 
             // Add available cities for search dropdown
-            List<String> cities = this.cityService.findByCountry(user.getCountry())
+            List<String> cities = this.cityService.findByCountryId(user.getCountryId())
                     .stream().map(City::getName)
                     .toList();
 
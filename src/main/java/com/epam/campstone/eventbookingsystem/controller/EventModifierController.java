@@ -1,13 +1,17 @@
 package com.epam.campstone.eventbookingsystem.controller;
 
 import com.epam.campstone.eventbookingsystem.dto.*;
+import com.epam.campstone.eventbookingsystem.exception.ResourceNotFoundException;
 import com.epam.campstone.eventbookingsystem.model.City;
 import com.epam.campstone.eventbookingsystem.model.Event;
-import com.epam.campstone.eventbookingsystem.model.User;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatMapService;
+import com.epam.campstone.eventbookingsystem.util.AppConstants;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
@@ -25,15 +29,18 @@ import java.util.Objects;
 public class EventModifierController {
 
     private final EventService eventService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final CityService cityService;
+    private final SeatMapService seatMapService;
 
     public EventModifierController(EventService eventService,
-                                   UserService userService,
-                                   CityService cityService) {
+                                   CurrentUserService currentUserService,
+                                   CityService cityService,
+                                   SeatMapService seatMapService) {
         this.eventService = eventService;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.cityService = cityService;
+        this.seatMapService = seatMapService;
     }
 
     /**
@@ -49,7 +56,7 @@ public class EventModifierController {
     public String showCreateEventForm(Model model,
                                       Authentication authentication) {
         addCommonModelAttributes(model, authentication);
-        User user = (User) model.getAttribute("user");
+        AuthenticatedUser user = (AuthenticatedUser) model.getAttribute("user");
         if (!model.containsAttribute("event")) {
             EventDto eventDto = new EventDto();
             eventDto.setCreatedBy(Objects.requireNonNull(user).getId());
@@ -80,7 +87,7 @@ public class EventModifierController {
         try {
             if (authentication != null && authentication.isAuthenticated()
                     && !authentication.getName().equals("anonymousUser")) {
-                User user = userService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
+                AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
 
                 log.info("Creating new event: {}", eventDto.getTitle());
                 eventDto.setCreatedBy(user.getId());
@@ -111,13 +118,14 @@ public class EventModifierController {
     @GetMapping("/{id}/edit")
     public String showEditEventForm(@PathVariable Long id, Model model, Authentication authentication) {
 
-        User user = userService.findByEmail(authentication.getName()).orElseThrow(
+        AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(
                 () -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName()))
         );
         model.addAttribute("user", user);
 
         Event event = eventService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        checkCanModify(event, user);
 
         if (!model.containsAttribute("event")) {
             EventDto eventDto = mapEventDto(event, user);
@@ -146,8 +154,10 @@ public class EventModifierController {
     public String updateEvent(
             @PathVariable Long id,
             @ModelAttribute("event") EventDto eventDto,
-            RedirectAttributes redirectAttributes) {
+            RedirectAttributes redirectAttributes,
+            Authentication authentication) {
 
+        checkCanModify(id, authentication);
         try {
             eventService.updateEvent(id, eventDto);
             redirectAttributes.addFlashAttribute("successMessage", "Event updated successfully!");
@@ -159,17 +169,94 @@ public class EventModifierController {
         }
     }
 
+    /**
+     * Splits the available capacity of an event into shards, or folds it back when {@code shards} is 0.
+     *
+     * <p>Sharding is meant for events with heavy booking traffic: each booking takes spots from
+     * one randomly chosen shard instead of locking the single event row.</p>
+     *
+     * @param id                 The ID of the event.
+     * @param shards             The number of shards, 0 to turn sharding off.
+     * @param redirectAttributes Attributes for flash messages during redirection.
+     * @return A redirection to the event details page.
+     */
+    @PostMapping("/{id}/capacity-shards")
+    public String setCapacityShards(
+            @PathVariable Long id,
+            @RequestParam int shards,
+            RedirectAttributes redirectAttributes,
+            Authentication authentication) {
+
+        checkCanModify(id, authentication);
+        try {
+            eventService.setCapacityShards(id, shards);
+            redirectAttributes.addFlashAttribute("successMessage", shards > 0
+                    ? "Event capacity split into " + shards + " shards"
+                    : "Event capacity sharding turned off");
+        } catch (Exception e) {
+            log.error("Error changing capacity shards of event {}: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", "Error changing capacity shards: " + e.getMessage());
+        }
+        return "redirect:/events/" + id;
+    }
+
+    /**
+     * Creates the seats of an event from the seat map of its venue.
+     *
+     * <p>Seats that already exist for the event are left untouched, so this can be run again
+     * after seats were added to the venue.</p>
+     *
+     * @param id                 The ID of the event.
+     * @param redirectAttributes Attributes for flash messages during redirection.
+     * @return A redirection to the event details page.
+     */
+    @PostMapping("/{id}/seats")
+    public String provisionSeats(
+            @PathVariable Long id,
+            RedirectAttributes redirectAttributes,
+            Authentication authentication) {
+
+        checkCanModify(id, authentication);
+        try {
+            int created = seatMapService.provisionEventSeats(id);
+            redirectAttributes.addFlashAttribute("successMessage", created + " event seats created");
+        } catch (Exception e) {
+            log.error("Error creating seats of event {}: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", "Error creating event seats: " + e.getMessage());
+        }
+        return "redirect:/events/" + id;
+    }
+
+    /**
+     * Only the creator of an event or an administrator may change it
+     */
+    private void checkCanModify(Long eventId, Authentication authentication) {
+        AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(
+                () -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName()))
+        );
+        Event event = eventService.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        checkCanModify(event, user);
+    }
+
+    private static void checkCanModify(Event event, AuthenticatedUser user) {
+        boolean creator = event.getCreatedBy() != null && Objects.equals(event.getCreatedBy().getId(), user.getId());
+        if (!creator && !AppConstants.ROLE_ADMIN.equals(user.getRoleName())) {
+            throw new AccessDeniedException("Only the creator of the event or an administrator can change it");
+        }
+    }
+
     /**
      * Add common model attributes used across multiple pages
      */
     private void addCommonModelAttributes(Model model, Authentication authentication) {
         if (authentication != null && authentication.isAuthenticated()
                 && !authentication.getName().equals("anonymousUser")) {
-            User user = userService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
+            AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
 
             model.addAttribute("user", user);
             // Add available cities for search dropdown
-            List<City> cities = this.cityService.findByCountry(Objects.requireNonNull(user).getCountry());
+            List<City> cities = this.cityService.findByCountryId(Objects.requireNonNull(user).getCountryId());
 
             model.addAttribute("cities", cities);
 
@@ -179,7 +266,7 @@ public class EventModifierController {
         }
     }
 
-    private static EventDto mapEventDto(Event event, User user) {
+    private static EventDto mapEventDto(Event event, AuthenticatedUser user) {
         EventDto eventDto = new EventDto();
         eventDto.setId(event.getId());
         eventDto.setTitle(event.getTitle());
@@ -193,18 +280,8 @@ public class EventModifierController {
         eventDto.setAttendeesCapacity(event.getAvailableAttendeesCapacity());
 
         if (user != null) {
-            mapUserProfileDto(user, eventDto);
+            eventDto.setCreatedBy(user.getId());
         }
         return eventDto;
     }
-
-    private static void mapUserProfileDto(User user, EventDto eventDto) {
-        UserProfileDto userProfileDto = new UserProfileDto();
-        userProfileDto.setId(user.getId());
-        userProfileDto.setFirstName(user.getFirstName());
-        userProfileDto.setLastName(user.getLastName());
-        userProfileDto.setEmail(user.getEmail());
-        userProfileDto.setCountry(new CountryDto(user.getCountry().getId(), user.getCountry().getName()));
-        eventDto.setCreatedBy(userProfileDto.getId());
-    }
 }
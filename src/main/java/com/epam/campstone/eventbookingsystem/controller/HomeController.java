@@ -2,11 +2,11 @@ package com.epam.campstone.eventbookingsystem.controller;
 
 import com.epam.campstone.eventbookingsystem.dto.CategoryOptionDto;
 import com.epam.campstone.eventbookingsystem.model.City;
-import com.epam.campstone.eventbookingsystem.model.Event;
-import com.epam.campstone.eventbookingsystem.model.User;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,14 +23,14 @@ import java.util.Objects;
 public class HomeController {
 
     private final EventService eventService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final CityService cityService;
 
     public HomeController(EventService eventService,
-                          UserService userService,
+                          CurrentUserService currentUserService,
                           CityService cityService) {
         this.eventService = eventService;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.cityService = cityService;
     }
 
@@ -42,7 +42,7 @@ public class HomeController {
         // Add user info if authenticated
         if (authentication != null && authentication.isAuthenticated()
                 && !authentication.getName().equals("anonymousUser")) {
-            User user = userService.findByEmail(authentication.getName())
+            AuthenticatedUser user = currentUserService.findByEmail(authentication.getName())
                     .orElseThrow(() -> new UsernameNotFoundException(
                             String.format("User with email %s not found", authentication.getName())));
             model.addAttribute("user", user);
@@ -51,11 +51,11 @@ public class HomeController {
             addCommonModelAttributes(model);
 
             // Add featured events
-            if (user.getRole().getName().equals("ROLE_USER")) {
-                List<Event> featuredEvents = eventService.getFeaturedEvents(5);
+            if (user.getRoleName().equals("ROLE_USER")) {
+                List<EventCardView> featuredEvents = eventService.getFeaturedEvents(5);
                 model.addAttribute("featuredEvents", featuredEvents);
             } else {
-                List<Event> createdEvents = eventService.getFeaturedEventsByUser(10, user.getId());
+                List<EventCardView> createdEvents = eventService.getFeaturedEventsByUser(10, user.getId());
                 model.addAttribute("createdEvents", createdEvents);
             }
 
@@ -81,7 +81,7 @@ public class HomeController {
             return "redirect:/auth/login";
         }
 
-        User user = userService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
+        AuthenticatedUser user = currentUserService.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException(String.format("User with email %s not found", authentication.getName())));
         model.addAttribute("user", user);
 
         // Add dashboard-specific data
@@ -94,14 +94,14 @@ public class HomeController {
         // Get upcoming events
 
         // Add featured events
-        if (user.getRole().getName().equals("USER")) {
-            List<Event> featuredEvents = eventService.getFeaturedEvents(5);
+        if (user.getRoleName().equals("USER")) {
+            List<EventCardView> featuredEvents = eventService.getFeaturedEvents(5);
             model.addAttribute("upcomingEvents", featuredEvents);
 
             model.addAttribute("pageTitle", "Dashboard - Ticketo");
             model.addAttribute("featuredTitle", "Recommended for You");
         } else {
-            List<Event> createdEvents = eventService.getFeaturedEventsByUser(10, user.getId());
+            List<EventCardView> createdEvents = eventService.getFeaturedEventsByUser(10, user.getId());
             model.addAttribute("createdEvents", createdEvents);
         }
 
@@ -114,9 +114,9 @@ public class HomeController {
      * Add common model attributes used across multiple pages
      */
     private void addCommonModelAttributes(Model model) {
-        User user = (User) model.getAttribute("user");
+        AuthenticatedUser user = (AuthenticatedUser) model.getAttribute("user");
         // Add available cities for search dropdown
-        List<String> cities = this.cityService.findByCountry(Objects.requireNonNull(user).getCountry())
+        List<String> cities = this.cityService.findByCountryId(Objects.requireNonNull(user).getCountryId())
                 .stream().map(City::getName)
                 .toList();
 
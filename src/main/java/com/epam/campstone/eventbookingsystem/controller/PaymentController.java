@@ -2,6 +2,7 @@ package com.epam.campstone.eventbookingsystem.controller;
 
 import com.epam.campstone.eventbookingsystem.dto.PaymentRequestDto;
 import com.epam.campstone.eventbookingsystem.dto.PaymentResponseDto;
+import com.epam.campstone.eventbookingsystem.service.api.IdempotencyService;
 import com.epam.campstone.eventbookingsystem.service.api.PaymentService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -13,15 +14,22 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.UUID;
+
 @Controller
 @RequestMapping("/payments")
 @Slf4j
 public class PaymentController {
 
+    private static final String PAYMENT_SCOPE = "payment";
+
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService,
+                             IdempotencyService idempotencyService) {
         this.paymentService = paymentService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -49,6 +57,7 @@ public class PaymentController {
         if (!model.containsAttribute("paymentRequest")) {
             PaymentRequestDto paymentRequest = new PaymentRequestDto();
             paymentRequest.setBookingId(bookingId);
+            paymentRequest.setIdempotencyKey(UUID.randomUUID().toString());
             model.addAttribute("paymentRequest", paymentRequest);
         }
 
@@ -91,7 +100,10 @@ public class PaymentController {
         }
 
         try {
-            PaymentResponseDto response = paymentService.processPayment(paymentRequest, currentUser.getUsername());
+            // A resubmitted form gets the original outcome instead of charging again
+            PaymentResponseDto response = idempotencyService.execute(PAYMENT_SCOPE, currentUser.getUsername(),
+                    paymentRequest.getIdempotencyKey(),
+                    () -> paymentService.processPayment(paymentRequest, currentUser.getUsername()));
 
             if (response.isSuccess()) {
                 redirectAttributes.addFlashAttribute("successMessage",
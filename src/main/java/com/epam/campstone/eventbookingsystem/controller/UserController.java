@@ -1,12 +1,13 @@
 package com.epam.campstone.eventbookingsystem.controller;
 
-import com.epam.campstone.eventbookingsystem.dto.BookingStatus;
 import com.epam.campstone.eventbookingsystem.dto.CountryDto;
+import com.epam.campstone.eventbookingsystem.dto.UserBookingsDto;
 import com.epam.campstone.eventbookingsystem.dto.UserProfileDto;
-import com.epam.campstone.eventbookingsystem.model.Booking;
 import com.epam.campstone.eventbookingsystem.model.User;
-import com.epam.campstone.eventbookingsystem.service.api.BookingService;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
+import com.epam.campstone.eventbookingsystem.service.api.BookingSummaryService;
 import com.epam.campstone.eventbookingsystem.service.api.CountryService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -20,27 +21,28 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 @Controller
 @RequestMapping("/user")
 @Slf4j
 public class UserController {
 
     private final UserService userService;
-    private final BookingService bookingService;
+    private final CurrentUserService currentUserService;
+    private final BookingSummaryService bookingSummaryService;
 
     public UserController(UserService userService,
-                          BookingService bookingService) {
+                          CurrentUserService currentUserService,
+                          BookingSummaryService bookingSummaryService) {
         this.userService = userService;
-        this.bookingService = bookingService;
+        this.currentUserService = currentUserService;
+        this.bookingSummaryService = bookingSummaryService;
     }
 
     @GetMapping("/profile")
     public String showProfile(Authentication authentication, Model model) {
         log.info("Showing profile for user: {}", authentication.getName());
 
-        User user = userService.findByEmail(authentication.getName())
+        AuthenticatedUser user = currentUserService.findByEmail(authentication.getName())
                 .orElse(null);
 
         if (user == null) {
@@ -49,9 +51,12 @@ public class UserController {
         }
         model.addAttribute("user", user);
 
+        // The form needs the country name, which only the full user has
         if (!model.containsAttribute("userProfile")) {
             log.info("Adding user profile to model");
-            UserProfileDto userProfile = mapUserProfileDto(user);
+            UserProfileDto userProfile = userService.findByEmail(user.getEmail())
+                    .map(UserController::mapUserProfileDto)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
             model.addAttribute("userProfile", userProfile);
         }
 
@@ -112,15 +117,21 @@ public class UserController {
         return "redirect:/user/profile";
     }
 
+    /**
+     * Show one page of the user's temporary holds and purchased bookings, newest first.
+     * Both tabs are read together and cached until one of the user's bookings changes.
+     */
     @GetMapping("/bookings")
-    public String getUserBookings(@AuthenticationPrincipal UserDetails currentUser, Model model) {
-        User user = userService.findByEmail(currentUser.getUsername())
+    public String getUserBookings(@AuthenticationPrincipal UserDetails currentUser,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  Model model) {
+        AuthenticatedUser user = currentUserService.findByEmail(currentUser.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         model.addAttribute("user", user);
-        List<Booking> bookings = bookingService.findUserBookingsByStatus(currentUser.getUsername(), BookingStatus.TEMPORARY_HOLD);
-        model.addAttribute("bookings", bookings);
-        List<Booking> purchasedBookings = bookingService.findUserBookingsByStatus(currentUser.getUsername(), BookingStatus.PURCHASED);
-        model.addAttribute("purchasedBookings", purchasedBookings);
+        UserBookingsDto userBookings = bookingSummaryService.findUserBookings(user.getId(), page);
+        model.addAttribute("bookings", userBookings.getHolds());
+        model.addAttribute("purchasedBookings", userBookings.getPurchased());
+        model.addAttribute("userBookings", userBookings);
         return "user/bookings";
     }
 
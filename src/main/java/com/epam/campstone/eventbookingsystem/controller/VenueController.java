@@ -0,0 +1,62 @@
+package com.epam.campstone.eventbookingsystem.controller;
+
+import com.epam.campstone.eventbookingsystem.dto.SeatMapSectionDto;
+import com.epam.campstone.eventbookingsystem.service.api.SeatMapService;
+import com.epam.campstone.eventbookingsystem.util.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.List;
+
+@Controller
+@RequestMapping("/venues")
+@Slf4j
+public class VenueController {
+
+    private final SeatMapService seatMapService;
+
+    public VenueController(SeatMapService seatMapService) {
+        this.seatMapService = seatMapService;
+    }
+
+    /**
+     * Imports the seats of a venue from a seat map spec. Venues have no owner, so only
+     * administrators may import seats.
+     *
+     * <p>The spec lists one block of seats per line or {@code ;}-separated entry as
+     * {@code section:rows:seats:price}, e.g. {@code A:1-40:1-30:49.99}.</p>
+     *
+     * @param id                 The ID of the venue.
+     * @param spec               The seat map spec.
+     * @param redirectAttributes Attributes for flash messages during redirection.
+     * @return A redirection to the dashboard.
+     */
+    @PostMapping("/{id}/seats")
+    public String importSeats(
+            @PathVariable Long id,
+            @RequestParam String spec,
+            RedirectAttributes redirectAttributes,
+            Authentication authentication) {
+
+        boolean admin = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(AppConstants.ROLE_ADMIN::equals);
+        if (!admin) {
+            throw new AccessDeniedException("Only an administrator can import venue seats");
+        }
+        try {
+            List<SeatMapSectionDto> sections = seatMapService.parse(spec);
+            long created = seatMapService.importVenueSeats(id, sections);
+            redirectAttributes.addFlashAttribute("successMessage", created + " seats created");
+        } catch (Exception e) {
+            log.error("Error importing seats of venue {}: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", "Error importing seats: " + e.getMessage());
+        }
+        return "redirect:/dashboard";
+    }
+}
@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.controller.api;
 import com.epam.campstone.eventbookingsystem.dto.JwtResponseDto;
 import com.epam.campstone.eventbookingsystem.dto.LoginRequestDto;
 import com.epam.campstone.eventbookingsystem.dto.TokenRefreshRequest;
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.AuthenticationException;
 import com.epam.campstone.eventbookingsystem.service.api.LoginService;
 import jakarta.validation.Valid;
@@ -28,12 +29,13 @@ public class AuthRestController {
     }
 
     /**
-     * Authenticate a user and return JWT tokens
+     * Authenticate a user and return JWT tokens. Browsers posting to {@code /login} are handled by
+     * the form login filter, so API clients request their tokens from {@code /token}.
      *
      * @param loginRequest the login request containing email and password
      * @return JWT token and refresh token
      */
-    @PostMapping("/login")
+    @PostMapping({"/login", "/token"})
     public ResponseEntity<JwtResponseDto> processLogin(@Valid @ModelAttribute("loginRequest") LoginRequestDto loginRequest) {
         if (loginRequest == null) {
             return ResponseEntity.badRequest().build();
@@ -46,6 +48,20 @@ public class AuthRestController {
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access token. The refresh token is rotated: the response
+     * carries its replacement and the presented token can not be used again.
+     *
+     * @param request the request containing the refresh token
+     * @return the new access and refresh tokens
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        if (request == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(loginService.refreshToken(request.getRefreshToken()));
+    }
 
     /**
      * Logout a user by invalidating their refresh token
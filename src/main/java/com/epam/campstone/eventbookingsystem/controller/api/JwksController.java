@@ -0,0 +1,36 @@
+package com.epam.campstone.eventbookingsystem.controller.api;
+
+import com.epam.campstone.eventbookingsystem.security.jwt.JwtKeyRing;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * REST controller publishing the public keys that verify JWT tokens, so other services can
+ * verify tokens without sharing a secret.
+ */
+@RestController
+public class JwksController {
+    private final JwtKeyRing keyRing;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Get the JSON Web Key Set. Clients may cache it for a few minutes: a new key is published
+     * well before it starts signing tokens.
+     *
+     * @return the public keys
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwkSet() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyRing.jwkSet());
+    }
+}
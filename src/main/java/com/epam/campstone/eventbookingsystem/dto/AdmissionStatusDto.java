@@ -0,0 +1,19 @@
+package com.epam.campstone.eventbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Place of a user in the booking waiting room of an event.
+ */
+@Data
+@AllArgsConstructor
+public class AdmissionStatusDto {
+    private Long eventId;
+    private boolean admitted;
+    /**
+     * Number of users ahead in the queue plus one, 0 once admitted.
+     */
+    private long position;
+    private long etaSeconds;
+}
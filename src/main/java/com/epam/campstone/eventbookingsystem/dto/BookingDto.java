@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.dto;
 import com.epam.campstone.eventbookingsystem.model.BookingStatus;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -32,4 +33,10 @@ public class BookingDto {
 
     @NotNull(message = "Seats are required")
     private List<SeatDto> seats = new ArrayList<>();
+
+    /**
+     * Client-generated key identifying this booking request, so a resubmission is not booked twice.
+     */
+    @Size(max = 64, message = "Idempotency key must be at most 64 characters")
+    private String idempotencyKey;
 }
@@ -0,0 +1,27 @@
+package com.epam.campstone.eventbookingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    /**
+     * Token of the next page, {@code null} on the last page.
+     */
+    private String nextCursor;
+    /**
+     * Total number of results, {@code null} unless requested; may be an estimate.
+     */
+    private Long totalElements;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.epam.campstone.eventbookingsystem.dto;
+
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the chronological event order {@code (event_date, start_time, id)}: the last event
+ * of the previous page. Passed to clients as an opaque URL-safe token.
+ */
+@Data
+@AllArgsConstructor
+public class EventCursor {
+    private LocalDate eventDate;
+    private LocalTime startTime;
+    private Long id;
+
+    public static EventCursor of(EventCardView event) {
+        return new EventCursor(event.getEventDate(), event.getStartTime(), event.getId());
+    }
+
+    /**
+     * @param token a token created by {@link #encode()}
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new EventCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String value = eventDate + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
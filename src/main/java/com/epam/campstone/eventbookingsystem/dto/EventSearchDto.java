@@ -3,12 +3,23 @@ package com.epam.campstone.eventbookingsystem.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Event search filters. Every filter is optional; {@code city} and {@code category} are names
+ * from the search form and are resolved to IDs when {@code cityId} and {@code typeId} are not set.
+ */
 @Getter
 @Setter
 public class EventSearchDto {
     private String city;
     private LocalDate date;
     private String category;
+    private LocalDate dateTo;
+    private Integer cityId;
+    private Long typeId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String query;
 }
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -31,4 +32,10 @@ public class PaymentRequestDto {
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be greater than 0")
     private BigDecimal amount;
+
+    /**
+     * Client-generated key identifying this payment request, so a resubmission is not charged twice.
+     */
+    @Size(max = 64, message = "Idempotency key must be at most 64 characters")
+    private String idempotencyKey;
 }
@@ -0,0 +1,43 @@
+package com.epam.campstone.eventbookingsystem.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A rectangular block of seats in a venue: every seat from {@code fromSeat} to {@code toSeat}
+ * in every row from {@code fromRow} to {@code toRow} of one section, all at the same base price.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapSectionDto {
+    private String section;
+
+    @Min(value = 1, message = "Row number must be positive")
+    private int fromRow;
+
+    @Min(value = 1, message = "Row number must be positive")
+    private int toRow;
+
+    @Min(value = 1, message = "Seat number must be positive")
+    private int fromSeat;
+
+    @Min(value = 1, message = "Seat number must be positive")
+    private int toSeat;
+
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal basePrice;
+
+    public long seatCount() {
+        return (long) (toRow - fromRow + 1) * (toSeat - fromSeat + 1);
+    }
+}
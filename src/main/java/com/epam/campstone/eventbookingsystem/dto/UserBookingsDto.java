@@ -0,0 +1,31 @@
+package com.epam.campstone.eventbookingsystem.dto;
+
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the My Bookings page: the same page of the user's temporary holds and of their
+ * purchased bookings, newest first.
+ */
+@Data
+@AllArgsConstructor
+public class UserBookingsDto {
+    private List<BookingSummaryView> holds;
+    private long holdsTotal;
+    private List<BookingSummaryView> purchased;
+    private long purchasedTotal;
+    private int page;
+    private int pageSize;
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        long shown = (long) (page + 1) * pageSize;
+        return shown < holdsTotal || shown < purchasedTotal;
+    }
+}
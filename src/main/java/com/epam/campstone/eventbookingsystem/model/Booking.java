@@ -24,6 +24,11 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Size(max = 20)
     @Column(name = "booking_reference", length = 20)
     private String bookingReference;
@@ -75,6 +80,10 @@ public class Booking {
     @Column(name = "payment_date")
     private Instant paymentDate;
 
+    @Size(max = 64)
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     @OneToMany(mappedBy = "currentBooking")
     private Set<Seat> seats = new LinkedHashSet<>();
 
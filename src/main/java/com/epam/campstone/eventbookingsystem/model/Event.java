@@ -5,22 +5,47 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+import static org.hibernate.generator.EventType.INSERT;
+import static org.hibernate.generator.EventType.UPDATE;
+
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
 @Table(name = "event")
+@NamedEntityGraph(name = Event.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode("type"),
+        @NamedAttributeNode(value = "venue", subgraph = "venue")
+}, subgraphs = @NamedSubgraph(name = "venue", attributeNodes = @NamedAttributeNode("city")))
 public class Event {
+    /**
+     * Fetch plan for pages showing a single event: its status, type and venue with its city,
+     * loaded with the event itself. Event lists read {@code EventCardView} rows instead.
+     */
+    public static final String WITH_DETAILS = "Event.withDetails";
+
     @Id
     @Column(name = "id", nullable = false)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Size(max = 255)
     @NotNull
     @Column(name = "title", nullable = false)
@@ -42,6 +67,13 @@ public class Event {
     @Column(name = "start_time", nullable = false)
     private LocalTime startTime;
 
+    /**
+     * {@code event_date + start_time}, computed by the database.
+     */
+    @Generated(event = {INSERT, UPDATE})
+    @Column(name = "starts_at", insertable = false, updatable = false)
+    private LocalDateTime startsAt;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
@@ -66,4 +98,12 @@ public class Event {
     @Column(name = "min_price", nullable = false)
     private BigDecimal minPrice;
 
+    /**
+     * Number of capacity shard rows the available capacity is split into; 0 when sharding is off.
+     * Managed by {@code EventCapacityShardRepository} only, never written through the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "capacity_shards", insertable = false, updatable = false)
+    private Integer capacityShards;
+
 }
@@ -5,7 +5,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.UUID;
 
+/**
+ * A refresh token, stored as the SHA-256 hash of the token handed to the client. Every refresh
+ * replaces the token with a new one of the same family; the used token is kept, marked with
+ * {@code usedAt}, so presenting it again is detected as reuse.
+ */
 @Entity
 @Table(name = "refresh_tokens")
 @Getter
@@ -15,14 +21,20 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
 
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
-}
\ No newline at end of file
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+}
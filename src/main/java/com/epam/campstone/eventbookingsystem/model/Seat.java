@@ -19,7 +19,8 @@ import java.time.Instant;
 public class Seat {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_id_seq")
+    @SequenceGenerator(name = "seat_id_seq", sequenceName = "seat_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
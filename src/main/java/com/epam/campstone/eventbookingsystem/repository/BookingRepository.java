@@ -1,22 +1,45 @@
 package com.epam.campstone.eventbookingsystem.repository;
 
 import com.epam.campstone.eventbookingsystem.model.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingStatusPageView;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
+import com.epam.campstone.eventbookingsystem.repository.projection.HoldExpiryView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 @Transactional(readOnly = true)
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Select list of {@link BookingSummaryView}: a booking with its status, event, venue and city.
+     */
+    String BOOKING_SUMMARY = """
+            SELECT b.id AS id, b.bookingReference AS bookingReference, e.title AS eventTitle,
+                   e.eventDate AS eventDate, e.startTime AS eventStartTime,
+                   v.name AS venueName, v.address AS venueAddress, c.name AS cityName,
+                   s.displayName AS statusDisplayName, b.quantity AS quantity, b.price AS price,
+                   b.createdAt AS createdAt
+            FROM Booking b
+            JOIN b.bookingStatus s
+            JOIN b.event e
+            JOIN e.venue v
+            JOIN v.city c
+            """;
+
     /**
      * Find all bookings for a specific user with pagination and sorting
      *
@@ -57,16 +80,57 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean hasUserPurchasedEvent(@Param("user") User user, @Param("event") Event event);
 
     /**
-     * Expire all temporary hold bookings that have passed their expiration time
+     * Find the ID and expiry time of every booking in the given status that has an expiry time
+     *
+     * @param status the booking status, normally TEMPORARY_HOLD
+     * @return the pending holds
+     */
+    @Query("SELECT b.id AS bookingId, b.expiresAt AS expiresAt FROM Booking b " +
+            "WHERE b.bookingStatus = :status AND b.expiresAt IS NOT NULL")
+    List<HoldExpiryView> findHoldExpiries(@Param("status") BookingStatus status);
+
+    /**
+     * Lock the given bookings that are still in the given status and have passed their expiration time
      *
-     * @param now current timestamp
+     * @param ids    the booking IDs to check
+     * @param status the booking status, normally TEMPORARY_HOLD
+     * @param now    current timestamp
+     * @return the locked bookings that are due to expire
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.bookingStatus = :status AND b.expiresAt <= :now")
+    List<Booking> lockDueHolds(@Param("ids") Collection<Long> ids,
+                               @Param("status") BookingStatus status,
+                               @Param("now") Instant now);
+
+    /**
+     * Lock the given bookings that are still in the given status, whether due or not
+     *
+     * @param ids    the booking IDs to lock
+     * @param status the booking status, normally TEMPORARY_HOLD
+     * @return the locked bookings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.bookingStatus = :status")
+    List<Booking> lockHolds(@Param("ids") Collection<Long> ids,
+                            @Param("status") BookingStatus status);
+
+    /**
+     * Move the given temporary hold bookings to the expired status
+     *
+     * @param ids     the booking IDs to expire
+     * @param hold    the TEMPORARY_HOLD status
+     * @param expired the EXPIRED status
      * @return number of expired bookings
      */
     @Modifying
     @Transactional
-    @Query("UPDATE Booking b SET b.bookingStatus.name = 'EXPIRED' " +
-            "WHERE b.bookingStatus.name = 'TEMPORARY_HOLD' AND b.expiresAt < :now")
-    int expireTemporaryHolds(@Param("now") LocalDateTime now);
+    @Query("UPDATE Booking b SET b.bookingStatus = :expired, b.version = b.version + 1 WHERE b.id IN :ids AND b.bookingStatus = :hold")
+    int expireTemporaryHolds(@Param("ids") Collection<Long> ids,
+                             @Param("hold") BookingStatus hold,
+                             @Param("expired") BookingStatus expired);
 
     @Query("SELECT b FROM Booking b WHERE b.user = :user AND b.event = :event AND b.bookingStatus.name = 'PURCHASED'")
     List<Booking> findPurchasedBookingsByUserAndEvent(@Param("user") User user, @Param("event") Event event);
@@ -122,14 +186,23 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.id = :id AND b.user.email = :userEmail")
     Optional<Booking> findByIdAndUserEmail(Long id, String userEmail);
 
+    /**
+     * Find the booking a user created with the given idempotency key
+     *
+     * @param userEmail      the user's email
+     * @param idempotencyKey the client-supplied key of the booking request
+     * @return the booking, if the request was already processed
+     */
+    Optional<Booking> findByUserEmailAndIdempotencyKey(String userEmail, String idempotencyKey);
+
     /**
      * Find all bookings for a user by email, ordered by creation date (newest first)
      *
      * @param userEmail the user's email
      * @return list of bookings for the user
      */
-    @Query("SELECT b FROM Booking b WHERE b.user.email = :userEmail ORDER BY b.createdAt DESC")
-    List<Booking> findByUserEmailOrderByBookingDateDesc(@Param("userEmail") String userEmail);
+    @Query(BOOKING_SUMMARY + "WHERE b.user.email = :userEmail ORDER BY b.createdAt DESC")
+    List<BookingSummaryView> findByUserEmailOrderByBookingDateDesc(@Param("userEmail") String userEmail);
 
     /**
      * Find all bookings for a user by email with pagination, ordered by creation date (newest first)
@@ -156,6 +229,56 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT es.seat FROM EventSeat es WHERE es.booking.id = :booking")
     List<Seat> findSeatsByBooking(Long bookingId);
 
-    @Query("SELECT b FROM Booking b WHERE b.user.email = :username AND b.bookingStatus.name = :status ORDER BY b.createdAt DESC")
-    List<Booking> findByUserFilteredByStatus(String username, String status);
+    /**
+     * Find the bookings of a user in a status, newest first
+     *
+     * @param username the user's email
+     * @param status   the booking status name
+     * @return list of bookings
+     */
+    @Query(BOOKING_SUMMARY + "WHERE b.user.email = :username AND s.name = :status ORDER BY b.createdAt DESC")
+    List<BookingSummaryView> findByUserFilteredByStatus(String username, String status);
+
+    /**
+     * Find the same page of a user's bookings in each of several statuses, newest first, together
+     * with the number of bookings in each status. Each page is a range read of the
+     * {@code (user_id, booking_status_id, created_at, id)} index, so deep history is not scanned.
+     *
+     * @param userId   the user ID
+     * @param statuses the booking status names
+     * @param offset   the number of bookings to skip in each status
+     * @param limit    the maximum number of bookings per status
+     * @return the bookings ordered by status, then newest first; a status without bookings on the
+     * page yields one row with only the status columns set
+     */
+    @Query(value = """
+            WITH totals AS (
+                SELECT s.id, s.name, s.display_name, COUNT(b.id) AS total
+                FROM booking_status s
+                LEFT JOIN booking b ON b.booking_status_id = s.id AND b.user_id = :userId
+                WHERE s.name IN (:statuses)
+                GROUP BY s.id, s.name, s.display_name
+            )
+            SELECT p.id AS "id", p.booking_reference AS "bookingReference", e.title AS "eventTitle",
+                   e.event_date AS "eventDate", e.start_time AS "eventStartTime",
+                   v.name AS "venueName", v.address AS "venueAddress", c.name AS "cityName",
+                   t.name AS "statusName", t.display_name AS "statusDisplayName", t.total AS "statusTotal",
+                   p.quantity AS "quantity", p.price AS "price", p.created_at AS "createdAt"
+            FROM totals t
+            LEFT JOIN LATERAL (
+                SELECT b.id, b.booking_reference, b.event_id, b.quantity, b.price, b.created_at
+                FROM booking b
+                WHERE b.user_id = :userId AND b.booking_status_id = t.id
+                ORDER BY b.created_at DESC, b.id DESC
+                OFFSET :offset LIMIT :limit
+            ) p ON TRUE
+            LEFT JOIN event e ON e.id = p.event_id
+            LEFT JOIN venue v ON v.id = e.venue_id
+            LEFT JOIN city c ON c.id = v.city_id
+            ORDER BY t.name, p.created_at DESC, p.id DESC
+            """, nativeQuery = true)
+    List<BookingStatusPageView> findStatusPages(@Param("userId") Long userId,
+                                                @Param("statuses") Collection<String> statuses,
+                                                @Param("offset") int offset,
+                                                @Param("limit") int limit);
 }
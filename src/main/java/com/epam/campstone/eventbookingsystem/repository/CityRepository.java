@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.repository;
 import com.epam.campstone.eventbookingsystem.model.City;
 import com.epam.campstone.eventbookingsystem.model.Country;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +16,7 @@ public interface CityRepository extends JpaRepository<City, Integer> {
     List<City> findByCountryId(Integer countryId);
     List<City> findByNameContainingIgnoreCase(String name);
     boolean existsByNameAndCountryId(String name, Long countryId);
+
+    @Query("SELECT c FROM City c JOIN FETCH c.country ORDER BY c.name ASC")
+    List<City> findAllWithCountry();
 }
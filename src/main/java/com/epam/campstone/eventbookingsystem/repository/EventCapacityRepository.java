@@ -0,0 +1,122 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Atomic updates of {@code event.available_attendees_capacity}.
+ * <p>
+ * Every operation is a single conditional {@code UPDATE ... RETURNING} statement, so the
+ * capacity check and the change happen in one round trip without loading the {@code Event}
+ * entity and without lost updates between concurrent callers. Each change also bumps
+ * {@code event.version}, so a stale {@code Event} entity saved afterwards fails its optimistic check.
+ */
+@Repository
+@Transactional
+public class EventCapacityRepository {
+
+    private static final String DECREMENT_SQL = """
+            UPDATE event
+            SET available_attendees_capacity = available_attendees_capacity - ?,
+                version = version + 1
+            WHERE id = ? AND available_attendees_capacity >= ? AND capacity_shards = 0
+            RETURNING available_attendees_capacity
+            """;
+
+    private static final String INCREMENT_SQL = """
+            UPDATE event
+            SET available_attendees_capacity = available_attendees_capacity + ?,
+                version = version + 1
+            WHERE id = ? AND capacity_shards = 0
+            RETURNING available_attendees_capacity
+            """;
+
+    private static final String APPLY_DELTAS_SQL = """
+            UPDATE event e
+            SET available_attendees_capacity = e.available_attendees_capacity + d.delta,
+                version = e.version + 1
+            FROM unnest(?::bigint[], ?::int[]) AS d(id, delta)
+            WHERE e.id = d.id AND e.available_attendees_capacity + d.delta >= 0 AND e.capacity_shards = 0
+            RETURNING e.id, e.available_attendees_capacity
+            """;
+
+    private static final String FIND_CAPACITY_SHARDS_SQL = "SELECT capacity_shards FROM event WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventCapacityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Decrease the available capacity of an event if enough capacity remains.
+     *
+     * @param eventId the event ID
+     * @param count   the number of spots to take
+     * @return the new available capacity, or empty if the event does not exist, has fewer spots left
+     * or has its capacity sharded
+     */
+    public Optional<Integer> decrementAvailableCapacity(Long eventId, int count) {
+        List<Integer> result = jdbcTemplate.queryForList(DECREMENT_SQL, Integer.class, count, eventId, count);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Increase the available capacity of an event.
+     *
+     * @param eventId the event ID
+     * @param count   the number of spots to return
+     * @return the new available capacity, or empty if the event does not exist or has its capacity sharded
+     */
+    public Optional<Integer> incrementAvailableCapacity(Long eventId, int count) {
+        List<Integer> result = jdbcTemplate.queryForList(INCREMENT_SQL, Integer.class, count, eventId);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Apply signed capacity changes to many events in one statement. A change is skipped
+     * for an event whose capacity would drop below zero or whose capacity is sharded.
+     *
+     * @param deltas the capacity change per event ID, negative to take spots and positive to return them
+     * @return the new available capacity of every event the change was applied to
+     */
+    public Map<Long, Integer> applyCapacityDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> updated = new LinkedHashMap<>();
+        if (deltas.isEmpty()) {
+            return updated;
+        }
+        Long[] ids = deltas.keySet().toArray(new Long[0]);
+        Integer[] values = deltas.values().toArray(new Integer[0]);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(APPLY_DELTAS_SQL);
+            Array idArray = connection.createArrayOf("bigint", ids);
+            Array deltaArray = connection.createArrayOf("integer", values);
+            ps.setArray(1, idArray);
+            ps.setArray(2, deltaArray);
+            return ps;
+        }, rs -> {
+            updated.put(rs.getLong(1), rs.getInt(2));
+        });
+        return updated;
+    }
+
+    /**
+     * Find the number of capacity shards of an event.
+     *
+     * @param eventId the event ID
+     * @return the shard count, 0 when sharding is off, or empty if the event does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findCapacityShards(Long eventId) {
+        return jdbcTemplate.queryForList(FIND_CAPACITY_SHARDS_SQL, Integer.class, eventId).stream().findFirst();
+    }
+}
@@ -0,0 +1,165 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Operations on {@code event_capacity_shard}, the sub-counter rows an event's available
+ * capacity is split into when capacity sharding is enabled for it.
+ */
+@Repository
+@Transactional
+public class EventCapacityShardRepository {
+
+    private static final String DECREMENT_SHARD_SQL = """
+            UPDATE event_capacity_shard
+            SET available = available - ?
+            WHERE event_id = ? AND shard_no = ? AND available >= ?
+            RETURNING available
+            """;
+
+    private static final String INCREMENT_SHARD_SQL = """
+            UPDATE event_capacity_shard
+            SET available = available + ?
+            WHERE event_id = ? AND shard_no = ?
+            RETURNING available
+            """;
+
+    private static final String LOCK_SHARDS_SQL = """
+            SELECT shard_no, available
+            FROM event_capacity_shard
+            WHERE event_id = ?
+            ORDER BY shard_no
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_SHARD_SQL =
+            "UPDATE event_capacity_shard SET available = ? WHERE event_id = ? AND shard_no = ?";
+
+    private static final String SET_SHARD_COUNT_SQL =
+            "UPDATE event SET capacity_shards = ?, version = version + 1 WHERE id = ?";
+
+    private static final String CREATE_SHARDS_SQL = """
+            INSERT INTO event_capacity_shard (event_id, shard_no, available)
+            SELECT e.id,
+                   g.n,
+                   e.available_attendees_capacity / ? + CASE WHEN g.n < e.available_attendees_capacity % ? THEN 1 ELSE 0 END
+            FROM event e
+                     CROSS JOIN generate_series(0, ? - 1) AS g(n)
+            WHERE e.id = ?
+            """;
+
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM event_capacity_shard WHERE event_id = ?";
+
+    private static final String FOLD_EVENT_SQL = """
+            UPDATE event
+            SET available_attendees_capacity = (SELECT COALESCE(SUM(s.available), 0)
+                                                FROM event_capacity_shard s
+                                                WHERE s.event_id = event.id),
+                version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final String FOLD_ALL_SQL = """
+            UPDATE event e
+            SET available_attendees_capacity = s.total,
+                version = e.version + 1
+            FROM (SELECT event_id, SUM(available)::int AS total
+                  FROM event_capacity_shard
+                  GROUP BY event_id) s
+            WHERE e.id = s.event_id
+              AND e.capacity_shards > 0
+              AND e.available_attendees_capacity <> s.total
+            RETURNING e.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventCapacityShardRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take spots from a single shard if it holds enough of them.
+     *
+     * @return the spots left in the shard, or empty if the shard has fewer spots or does not exist
+     */
+    public Optional<Integer> decrementShard(Long eventId, int shardNo, int count) {
+        return jdbcTemplate.queryForList(DECREMENT_SHARD_SQL, Integer.class, count, eventId, shardNo, count)
+                .stream().findFirst();
+    }
+
+    /**
+     * Return spots to a single shard.
+     *
+     * @return the spots left in the shard, or empty if the shard does not exist
+     */
+    public Optional<Integer> incrementShard(Long eventId, int shardNo, int count) {
+        return jdbcTemplate.queryForList(INCREMENT_SHARD_SQL, Integer.class, count, eventId, shardNo)
+                .stream().findFirst();
+    }
+
+    /**
+     * Lock every shard of an event for the rest of the transaction.
+     *
+     * @return the available spots per shard number, ordered by shard number
+     */
+    public Map<Integer, Integer> lockShards(Long eventId) {
+        Map<Integer, Integer> shards = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_SHARDS_SQL, rs -> {
+            shards.put(rs.getInt(1), rs.getInt(2));
+        }, eventId);
+        return shards;
+    }
+
+    /**
+     * Overwrite the available spots of the given shards, which must be locked by the caller.
+     */
+    public void updateShards(Long eventId, Map<Integer, Integer> availableByShard) {
+        List<Object[]> args = new ArrayList<>(availableByShard.size());
+        availableByShard.forEach((shardNo, available) -> args.add(new Object[]{available, eventId, shardNo}));
+        jdbcTemplate.batchUpdate(UPDATE_SHARD_SQL, args);
+    }
+
+    /**
+     * Split the current available capacity of an event evenly across {@code shards} new shard rows
+     * and mark the event as sharded. Existing shards must have been removed first.
+     *
+     * @return the number of shard rows created, 0 if the event does not exist
+     */
+    public int createShards(Long eventId, int shards) {
+        if (jdbcTemplate.update(SET_SHARD_COUNT_SQL, shards, eventId) == 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(CREATE_SHARDS_SQL, shards, shards, shards, eventId);
+    }
+
+    /**
+     * Fold the shards of an event into its headline capacity, delete them and mark the event as not sharded.
+     *
+     * @return the number of shard rows removed
+     */
+    public int removeShards(Long eventId) {
+        jdbcTemplate.update(SET_SHARD_COUNT_SQL, 0, eventId);
+        lockShards(eventId);
+        jdbcTemplate.update(FOLD_EVENT_SQL, eventId);
+        return jdbcTemplate.update(DELETE_SHARDS_SQL, eventId);
+    }
+
+    /**
+     * Reconcile the headline capacity of every sharded event with the sum of its shards.
+     *
+     * @return the IDs of the events whose headline capacity changed
+     */
+    public List<Long> foldAll() {
+        return jdbcTemplate.queryForList(FOLD_ALL_SQL, Long.class);
+    }
+}
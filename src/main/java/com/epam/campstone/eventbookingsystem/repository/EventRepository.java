@@ -1,15 +1,24 @@
 package com.epam.campstone.eventbookingsystem.repository;
 
+import com.epam.campstone.eventbookingsystem.config.HibernateCacheConfig;
 import com.epam.campstone.eventbookingsystem.model.Event;
-import org.springframework.data.domain.Page;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link Event} entities.
@@ -18,43 +27,98 @@ import java.util.List;
 @Repository
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
+    /**
+     * Select list of {@link EventCardView}: the card columns of an event, its type, venue and city.
+     */
+    String EVENT_CARD = """
+            SELECT e.id AS id, e.title AS title, e.eventDate AS eventDate, e.startTime AS startTime,
+                   e.minPrice AS minPrice, t.displayName AS typeDisplayName,
+                   v.name AS venueName, v.address AS venueAddress, c.name AS cityName
+            FROM Event e
+            JOIN e.type t
+            JOIN e.venue v
+            JOIN v.city c
+            """;
+
+    /**
+     * Find an event with its status, type and venue with its city, in one statement.
+     *
+     * @param id the event ID
+     * @return the event, or empty if there is none
+     */
+    @EntityGraph(Event.WITH_DETAILS)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findWithDetailsById(Long id);
+
     /**
      * Find all upcoming events (PLANNED status and event date in the future).
-     * Results are ordered by event date and start time.
+     * Results are ordered by event date and start time, read in order from the
+     * {@code (status_id, starts_at)} index so only the requested page is visited.
+     * <p>
+     * The rows are kept in the {@code upcoming-events} query cache region. Hibernate invalidates
+     * cached results when an event is written through JPA; JDBC updates of the {@code event} table
+     * have to evict them explicitly.
      *
      * @return a list of upcoming events
      */
-    @Query(value = """
-            SELECT *
-            FROM event e
-            WHERE (e.event_date + e.start_time) >= CURRENT_TIMESTAMP
-            AND e.status_id = 1
-            ORDER BY e.event_date, e.start_time
-            """, nativeQuery = true)
-    List<Event> findUpcomingEvents(Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.UPCOMING_EVENTS_REGION)
+    })
+    @Query(EVENT_CARD + """
+            WHERE e.status.id = 1
+              AND e.startsAt >= CURRENT_TIMESTAMP
+            ORDER BY e.startsAt
+            """)
+    List<EventCardView> findUpcomingEvents(Pageable pageable);
+
+    /**
+     * Find the first events in chronological order.
+     *
+     * @param limit the maximum number of events
+     * @return the events ordered by date, start time and ID
+     */
+    @Query(EVENT_CARD + "ORDER BY e.eventDate, e.startTime, e.id")
+    List<EventCardView> findFirstEvents(Limit limit);
+
+    /**
+     * Find the events that follow a position in chronological order. The row comparison seeks
+     * straight to the position in the {@code (event_date, start_time, id)} index, so a deep page
+     * costs the same as the first one.
+     *
+     * @param eventDate the date of the last event already returned
+     * @param startTime the start time of the last event already returned
+     * @param id        the ID of the last event already returned
+     * @param limit     the maximum number of events
+     * @return the events ordered by date, start time and ID
+     */
+    @Query(EVENT_CARD +
+            "WHERE (e.eventDate, e.startTime, e.id) > (:eventDate, :startTime, :id) " +
+            "ORDER BY e.eventDate, e.startTime, e.id")
+    List<EventCardView> findEventsAfter(LocalDate eventDate, LocalTime startTime, Long id, Limit limit);
 
     /**
-     * Search events by start date, event type, and city.
+     * Find events by ID.
      *
-     * @param startDate the start date
-     * @param eventType the event type
-     * @param city      the city
-     * @param pageable  pagination and sorting information
-     * @return a page of events matching the search criteria
+     * @param ids the event IDs
+     * @return the events, in no particular order
      */
-    @Query("SELECT e FROM Event e WHERE e.eventDate >= :startDate " +
-            "AND e.type.name = :eventType " +
-            "AND e.venue.city.name = :city " +
-            "ORDER BY e.eventDate, e.startTime")
-    Page<Event> searchEvents(LocalDate startDate, String eventType, String city, Pageable pageable);
-
-    @Query(value = """
-            SELECT *
-            FROM event e
-            WHERE (e.event_date + e.start_time) >= CURRENT_TIMESTAMP
-              AND e.created_by = :userId
-            ORDER BY e.event_date, e.start_time
-            """,
+    @Query(EVENT_CARD + "WHERE e.id IN :ids")
+    List<EventCardView> findCardsByIdIn(Collection<Long> ids);
+
+    /**
+     * Estimate the number of events from the planner statistics instead of counting them.
+     *
+     * @return the approximate number of rows in the {@code event} table
+     */
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'event'::regclass",
             nativeQuery = true)
-    List<Event> findUpcomingEvents(Pageable pageable, Long userId);
+    long estimateEventCount();
+
+    @Query(EVENT_CARD + """
+            WHERE e.createdBy.id = :userId
+              AND e.startsAt >= CURRENT_TIMESTAMP
+            ORDER BY e.startsAt
+            """)
+    List<EventCardView> findUpcomingEvents(Pageable pageable, Long userId);
 }
@@ -0,0 +1,154 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import com.epam.campstone.eventbookingsystem.dto.EventCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Event search with optional, composable filters.
+ * <p>
+ * The SQL is assembled from the filters that are actually set, so an unused filter costs nothing
+ * and {@code venue} is only joined when searching by city. Every filter has a matching index
+ * (see {@code V14__add_event_search_indexes.sql}) and results are read in the keyset order
+ * {@code (event_date, start_time, id)}, so pages stay index-backed as the catalog grows.
+ * Free text is matched against {@code event.search_vector}, the full-text document of the title,
+ * venue name and description that the database keeps current (see
+ * {@code V15__add_event_full_text_search.sql}).
+ * Without a start date only events that have not started yet are found.
+ * Only IDs are returned; the event cards are then read in one query with
+ * {@link EventRepository#findCardsByIdIn}.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class EventSearchRepository {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find the IDs of the matching events that follow a position in chronological order.
+     *
+     * @param criteria the filters
+     * @param after    the last event already returned, {@code null} for the first page
+     * @param limit    the maximum number of IDs
+     * @return the event IDs ordered by date, start time and ID
+     */
+    public List<Long> findIds(Criteria criteria, EventCursor after, int limit) {
+        SearchSql query = selectIds(criteria, after, limit);
+        return jdbcTemplate.queryForList(query.sql(), Long.class, query.args().toArray());
+    }
+
+    /**
+     * Count the matching events.
+     *
+     * @param criteria the filters
+     * @return the number of matching events
+     */
+    public long count(Criteria criteria) {
+        SearchSql query = build("SELECT COUNT(*)", criteria);
+        Long count = jdbcTemplate.queryForObject(query.sql(), Long.class, query.args().toArray());
+        return count != null ? count : 0;
+    }
+
+    SearchSql selectIds(Criteria criteria, EventCursor after, int limit) {
+        SearchSql query = build("SELECT e.id", criteria);
+        StringBuilder sql = new StringBuilder(query.sql());
+        List<Object> args = new ArrayList<>(query.args());
+        if (after != null) {
+            // The redundant date bound gives the planner an index range start alongside the row comparison
+            sql.append(" AND e.event_date >= ? AND (e.event_date, e.start_time, e.id) > (?, ?, ?)");
+            args.add(after.getEventDate());
+            args.add(after.getEventDate());
+            args.add(after.getStartTime());
+            args.add(after.getId());
+        }
+        sql.append(" ORDER BY e.event_date, e.start_time, e.id LIMIT ?");
+        args.add(limit);
+        return new SearchSql(sql.toString(), args);
+    }
+
+    private static SearchSql build(String select, Criteria criteria) {
+        StringBuilder sql = new StringBuilder(select).append(" FROM event e");
+        List<Object> args = new ArrayList<>();
+        if (criteria.cityId() != null) {
+            sql.append(" JOIN venue v ON v.id = e.venue_id");
+        }
+        sql.append(" WHERE TRUE");
+        if (criteria.dateFrom() != null) {
+            sql.append(" AND e.event_date >= ?");
+            args.add(criteria.dateFrom());
+        } else {
+            // The date bound starts the index range; starts_at drops today's events that have begun
+            sql.append(" AND e.event_date >= CURRENT_DATE AND e.starts_at >= LOCALTIMESTAMP");
+        }
+        if (criteria.dateTo() != null) {
+            sql.append(" AND e.event_date <= ?");
+            args.add(criteria.dateTo());
+        }
+        if (criteria.cityId() != null) {
+            sql.append(" AND v.city_id = ?");
+            args.add(criteria.cityId());
+        }
+        if (criteria.typeId() != null) {
+            sql.append(" AND e.type_id = ?");
+            args.add(criteria.typeId());
+        }
+        if (criteria.minPrice() != null) {
+            sql.append(" AND e.min_price >= ?");
+            args.add(criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            sql.append(" AND e.min_price <= ?");
+            args.add(criteria.maxPrice());
+        }
+        String textQuery = toTextQuery(criteria.text());
+        if (textQuery != null) {
+            sql.append(" AND e.search_vector @@ to_tsquery('simple', ?)");
+            args.add(textQuery);
+        }
+        return new SearchSql(sql.toString(), args);
+    }
+
+    /**
+     * Turn free text into a {@code tsquery} that requires every word, each matched as a prefix,
+     * so a query still matches while the user is typing. Anything but letters and digits is
+     * dropped, which also keeps {@code tsquery} operators out of user input.
+     *
+     * @return the query, or {@code null} if the text has no words
+     */
+    static String toTextQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String query = TERM_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    /**
+     * Search filters; {@code null} leaves a filter out, except that a missing {@code dateFrom}
+     * limits the search to events that have not started yet.
+     */
+    public record Criteria(LocalDate dateFrom, LocalDate dateTo, Integer cityId, Long typeId,
+                           BigDecimal minPrice, BigDecimal maxPrice, String text) {
+    }
+
+    record SearchSql(String sql, List<Object> args) {
+    }
+}
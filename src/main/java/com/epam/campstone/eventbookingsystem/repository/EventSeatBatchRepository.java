@@ -0,0 +1,81 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch operations on the {@code event_seat} table.
+ * Used where issuing one JPQL update per seat would be too slow.
+ * <p>
+ * Every update is guarded on the state the row is expected to be in, so a change made by
+ * another application node in the meantime is never overwritten: the update matches no row.
+ */
+@Repository
+public class EventSeatBatchRepository {
+
+    private static final String UPDATE_SEAT_STATE_SQL =
+            "UPDATE event_seat SET status_id = ?, booking_id = ?, version = version + 1"
+                    + " WHERE event_id = ? AND seat_id = ? AND status_id = ? AND booking_id IS NOT DISTINCT FROM ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventSeatBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Apply a batch of seat state changes in a single JDBC round trip.
+     *
+     * @param updates the seat state changes, applied in list order
+     * @return the number of rows updated per statement; 0 where the row was no longer in the expected state
+     */
+    @Transactional
+    public int[] updateSeatStates(List<SeatStateUpdate> updates) {
+        return jdbcTemplate.batchUpdate(UPDATE_SEAT_STATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SeatStateUpdate update = updates.get(i);
+                ps.setLong(1, update.statusId());
+                setBookingId(ps, 2, update.bookingId());
+                ps.setLong(3, update.eventId());
+                ps.setLong(4, update.seatId());
+                ps.setLong(5, update.expectedStatusId());
+                setBookingId(ps, 6, update.expectedBookingId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+    }
+
+    private static void setBookingId(PreparedStatement ps, int index, Long bookingId) throws SQLException {
+        if (bookingId != null) {
+            ps.setLong(index, bookingId);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * A pending change of one {@code event_seat} row.
+     *
+     * @param eventId           the event ID
+     * @param seatId            the seat ID
+     * @param expectedStatusId  the seat status ID the row must still have
+     * @param expectedBookingId the booking ID the row must still have, or {@code null} for none
+     * @param statusId          the new seat status ID
+     * @param bookingId         the holding booking ID, or {@code null} when the seat is released
+     */
+    public record SeatStateUpdate(long eventId, long seatId, long expectedStatusId, Long expectedBookingId,
+                                  long statusId, Long bookingId) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.epam.campstone.eventbookingsystem.repository;
 
 import com.epam.campstone.eventbookingsystem.model.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventSeatStateView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -177,7 +179,7 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE EventSeat es SET es.status.name = 'RESERVED', es.booking = :booking WHERE es.event = :event AND es.seat = :seat AND es.status.name = 'AVAILABLE'")
+    @Query("UPDATE EventSeat es SET es.status.name = 'RESERVED', es.booking = :booking, es.version = es.version + 1 WHERE es.event = :event AND es.seat = :seat AND es.status.name = 'AVAILABLE'")
     int reserveSeat(
             @Param("event") Event event,
             @Param("seat") Seat seat,
@@ -194,7 +196,7 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE EventSeat es SET es.status.name = 'RESERVED', es.booking = :booking WHERE es.event = :event AND es.seat IN :seats AND es.status.name = 'AVAILABLE'")
+    @Query("UPDATE EventSeat es SET es.status.name = 'RESERVED', es.booking = :booking, es.version = es.version + 1 WHERE es.event = :event AND es.seat IN :seats AND es.status.name = 'AVAILABLE'")
     int reserveSeats(
             @Param("event") Event event,
             @Param("seats") List<Seat> seats,
@@ -209,19 +211,25 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE EventSeat es SET es.status.name = 'PURCHASED' WHERE es.booking = :booking")
+    @Query("UPDATE EventSeat es SET es.status.name = 'PURCHASED', es.version = es.version + 1 WHERE es.booking = :booking")
     int markSeatsAsPurchased(@Param("booking") Booking booking);
 
     /**
-     * Release all reserved seats for a booking (set status back to AVAILABLE and remove booking reference).
+     * Release all reserved seats of the given bookings (set status back to AVAILABLE and remove booking reference).
      *
-     * @param booking the booking to release seats for
+     * @param bookings  the bookings to release seats for
+     * @param reserved  the RESERVED status
+     * @param available the AVAILABLE status
      * @return the number of seats released
      */
     @Modifying
     @Transactional
-    @Query("UPDATE EventSeat es SET es.status.name = 'AVAILABLE', es.booking = null WHERE es.booking = :booking AND es.status.name = 'RESERVED'")
-    int releaseReservedSeats(@Param("booking") Booking booking);
+    @Query("UPDATE EventSeat es SET es.status = :available, es.booking = null, es.version = es.version + 1 WHERE es.booking IN :bookings AND es.status = :reserved")
+    int releaseReservedSeats(
+            @Param("bookings") Collection<Booking> bookings,
+            @Param("reserved") SeatStatus reserved,
+            @Param("available") SeatStatus available
+    );
 
     /**
      * Find all event seats for a specific event and status.
@@ -250,7 +258,7 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
     );
 
     @Modifying
-    @Query("UPDATE EventSeat es SET es.status.name = 'AVAILABLE', es.booking = NULL WHERE es.booking = :booking")
+    @Query("UPDATE EventSeat es SET es.status.name = 'AVAILABLE', es.booking = NULL, es.version = es.version + 1 WHERE es.booking = :booking")
     int releaseSeatsForBooking(@Param("booking") Booking booking);
 
     @Query("SELECT COUNT(es) > 0 FROM EventSeat es WHERE es.event = :event AND es.seat = :seat AND es.status.name = 'AVAILABLE'")
@@ -262,4 +270,15 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
             @Param("section") String section,
             @Param("rowNumber") int rowNumber
     );
+
+    /**
+     * Load the seat id, status, holding booking and position of every seat of an event, ordered by seat id.
+     *
+     * @param eventId the ID of the event
+     * @return the seat states of the event
+     */
+    @Query("SELECT es.id.seatId AS seatId, s.name AS statusName, es.booking.id AS bookingId, " +
+            "st.section AS section, st.rowNumber AS rowNumber, st.seatNumber AS seatNumber, st.basePrice AS basePrice " +
+            "FROM EventSeat es JOIN es.status s JOIN es.seat st WHERE es.id.eventId = :eventId ORDER BY es.id.seatId")
+    List<EventSeatStateView> findSeatStatesByEventId(@Param("eventId") Long eventId);
 }
@@ -1,35 +1,75 @@
 package com.epam.campstone.eventbookingsystem.repository;
 
 import com.epam.campstone.eventbookingsystem.model.RefreshToken;
-import com.epam.campstone.eventbookingsystem.model.User;
+import com.epam.campstone.eventbookingsystem.repository.projection.RefreshTokenView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     /**
-     * Find a refresh token by its token value
-     * @param token the token value to search for
+     * Find a refresh token by the hash of its token value, together with its user and role, in
+     * one read of the unique {@code token_hash} index
+     * @param tokenHash the SHA-256 hash of the token value
      * @return an Optional containing the refresh token if found
      */
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT t.id AS id, t.familyId AS familyId, t.expiryDate AS expiryDate, t.usedAt AS usedAt, " +
+            "u.id AS userId, u.email AS email, r.name AS roleName, u.isActive AS active " +
+            "FROM RefreshToken t JOIN t.user u JOIN u.role r WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshTokenView> findByTokenHash(String tokenHash);
 
     /**
-     * Find a refresh token by the associated user
-     * @param user the user to search for
-     * @return an Optional containing the refresh token if found
+     * Mark a refresh token as used, unless it already is
+     * @param id     the refresh token ID
+     * @param usedAt the time of use
+     * @return 1 if this call used the token, 0 if it had been used before
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(Long id, Instant usedAt);
+
+    /**
+     * Delete every refresh token rotated from the same login
+     * @param familyId the token family
+     * @return the number of deleted tokens
      */
-    Optional<RefreshToken> findByUser(User user);
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteByFamilyId(UUID familyId);
+
+    /**
+     * Delete a batch of expired refresh tokens, oldest first. Rows locked by a concurrent sweep on
+     * another node are skipped rather than waited for.
+     * @param now   the current time
+     * @param limit the maximum number of tokens to delete
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id
+                         FROM refresh_tokens
+                         WHERE expiry_date < :now
+                         ORDER BY expiry_date
+                         LIMIT :limit
+                         FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(Instant now, int limit);
 
     /**
      * Delete all refresh tokens associated with a user
-     * @param user the user whose tokens should be deleted
+     * @param userId the ID of the user whose tokens should be deleted
+     * @return the number of deleted tokens
      */
     @Modifying
-    void deleteByUser(User user);
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteByUserId(Long userId);
 
-}
\ No newline at end of file
+}
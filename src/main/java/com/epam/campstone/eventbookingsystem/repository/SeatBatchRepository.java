@@ -0,0 +1,101 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * JDBC batch operations on the {@code seat} and {@code event_seat} tables for provisioning seat maps.
+ */
+@Repository
+public class SeatBatchRepository {
+
+    /**
+     * Increment of {@code seat_id_seq}; each value handed out by the sequence reserves this many IDs.
+     * Must match the allocation size of the ID generator of {@link com.epam.campstone.eventbookingsystem.model.Seat}.
+     */
+    public static final int SEAT_ID_BLOCK_SIZE = 50;
+
+    private static final String ALLOCATE_SEAT_ID_BLOCKS_SQL =
+            "SELECT nextval('seat_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_SEAT_SQL =
+            "INSERT INTO seat (id, venue_id, section, row_number, seat_number, base_price, status_id, is_available) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE)";
+
+    private static final String INSERT_EVENT_SEATS_SQL =
+            "INSERT INTO event_seat (event_id, seat_id, status_id) " +
+                    "SELECT e.id, s.id, ? FROM event e JOIN seat s ON s.venue_id = e.venue_id WHERE e.id = ? " +
+                    "ON CONFLICT (event_id, seat_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeatBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserve at least {@code count} seat IDs in one round trip. IDs come in blocks of
+     * {@link #SEAT_ID_BLOCK_SIZE} starting at each sequence value, the same way Hibernate's
+     * pooled-lo optimizer uses them, so they never collide with IDs assigned by JPA.
+     *
+     * @param count the number of IDs needed
+     * @return the first ID of every reserved block
+     */
+    public List<Long> allocateSeatIdBlocks(int count) {
+        int blocks = (count + SEAT_ID_BLOCK_SIZE - 1) / SEAT_ID_BLOCK_SIZE;
+        return jdbcTemplate.queryForList(ALLOCATE_SEAT_ID_BLOCKS_SQL, Long.class, blocks);
+    }
+
+    /**
+     * Insert seats in a single JDBC batch.
+     *
+     * @param seats    the seats to insert
+     * @param statusId the seat status ID
+     */
+    @Transactional
+    public void insertSeats(List<SeatRow> seats, long statusId) {
+        jdbcTemplate.batchUpdate(INSERT_SEAT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SeatRow seat = seats.get(i);
+                ps.setLong(1, seat.id());
+                ps.setLong(2, seat.venueId());
+                ps.setString(3, seat.section());
+                ps.setInt(4, seat.rowNumber());
+                ps.setInt(5, seat.seatNumber());
+                ps.setBigDecimal(6, seat.basePrice());
+                ps.setLong(7, statusId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return seats.size();
+            }
+        });
+    }
+
+    /**
+     * Create the missing {@code event_seat} rows of an event from its venue's seats in one statement.
+     *
+     * @param eventId  the event ID
+     * @param statusId the initial seat status ID
+     * @return the number of rows created
+     */
+    @Transactional
+    public int insertEventSeats(long eventId, long statusId) {
+        return jdbcTemplate.update(INSERT_EVENT_SEATS_SQL, statusId, eventId);
+    }
+
+    /**
+     * A {@code seat} row to insert.
+     */
+    public record SeatRow(long id, long venueId, String section, int rowNumber, int seatNumber, BigDecimal basePrice) {
+    }
+}
@@ -2,6 +2,8 @@ package com.epam.campstone.eventbookingsystem.repository;
 
 import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.model.UserRole;
+import com.epam.campstone.eventbookingsystem.repository.projection.UserCredentialsView;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -31,6 +33,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(@Param("email") String email);
 
+    /**
+     * Find a user with their role and latest password in one query, without loading the entity
+     * or its password history.
+     *
+     * @param email the email to search for
+     * @return an Optional containing the user's credentials if found
+     */
+    @Query("""
+            SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName,
+                   r.name AS roleName, u.country.id AS countryId, u.isActive AS active,
+                   p.passwordHash AS passwordHash, p.salt AS salt
+            FROM User u
+            JOIN u.role r
+            JOIN u.userPasswordHistories p
+            WHERE u.email = :email
+            ORDER BY p.createdAt DESC
+            LIMIT 1
+            """)
+    Optional<UserCredentialsView> findCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * Find the principal of a user: the few columns of the user and their role that pages need.
+     *
+     * @param email the email to search for
+     * @return an Optional containing the principal if found
+     */
+    @Query("""
+            SELECT new com.epam.campstone.eventbookingsystem.security.AuthenticatedUser(
+                   u.id, u.email, u.firstName, u.lastName, r.name, u.country.id, COALESCE(u.isActive, false))
+            FROM User u
+            JOIN u.role r
+            WHERE u.email = :email
+            """)
+    Optional<AuthenticatedUser> findPrincipalByEmail(@Param("email") String email);
+
     /**
      * Check if a user with the given email exists (case-sensitive).
      *
@@ -0,0 +1,13 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+/**
+ * A row of one page of a user's bookings in one status, with the number of bookings the user
+ * has in that status. A status with no booking on the page is reported by a single row whose
+ * booking columns are all {@code null}, so its total is still known.
+ */
+public interface BookingStatusPageView extends BookingSummaryView {
+
+    String getStatusName();
+
+    Long getStatusTotal();
+}
@@ -0,0 +1,37 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a booking as shown in a user's booking history.
+ * Read as flat columns, so no entity is loaded or tracked for dirty checking.
+ */
+public interface BookingSummaryView {
+
+    Long getId();
+
+    String getBookingReference();
+
+    String getEventTitle();
+
+    LocalDate getEventDate();
+
+    LocalTime getEventStartTime();
+
+    String getVenueName();
+
+    String getVenueAddress();
+
+    String getCityName();
+
+    String getStatusDisplayName();
+
+    Integer getQuantity();
+
+    BigDecimal getPrice();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,30 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of an event as shown on event cards in lists, search results and the dashboard.
+ * Read as flat columns, so no entity is loaded or tracked for dirty checking.
+ */
+public interface EventCardView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getEventDate();
+
+    LocalTime getStartTime();
+
+    BigDecimal getMinPrice();
+
+    String getTypeDisplayName();
+
+    String getVenueName();
+
+    String getVenueAddress();
+
+    String getCityName();
+}
@@ -0,0 +1,24 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a single {@code event_seat} row and the position of its seat,
+ * used to build the in-memory seat map of an event.
+ */
+public interface EventSeatStateView {
+
+    Long getSeatId();
+
+    String getStatusName();
+
+    Long getBookingId();
+
+    String getSection();
+
+    Integer getRowNumber();
+
+    Integer getSeatNumber();
+
+    BigDecimal getBasePrice();
+}
@@ -0,0 +1,13 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a pending temporary hold used to seed the hold-expiry timing wheel.
+ */
+public interface HoldExpiryView {
+
+    Long getBookingId();
+
+    Instant getExpiresAt();
+}
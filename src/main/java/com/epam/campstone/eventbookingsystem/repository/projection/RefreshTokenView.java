@@ -0,0 +1,26 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a refresh token with the claims of the access token it refreshes.
+ */
+public interface RefreshTokenView {
+
+    Long getId();
+
+    UUID getFamilyId();
+
+    Instant getExpiryDate();
+
+    Instant getUsedAt();
+
+    Long getUserId();
+
+    String getEmail();
+
+    String getRoleName();
+
+    Boolean getActive();
+}
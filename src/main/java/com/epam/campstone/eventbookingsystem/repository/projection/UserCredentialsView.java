@@ -0,0 +1,26 @@
+package com.epam.campstone.eventbookingsystem.repository.projection;
+
+/**
+ * Read-only projection of a user with their role and current password, everything needed to
+ * authenticate the user and build their principal.
+ */
+public interface UserCredentialsView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getRoleName();
+
+    Integer getCountryId();
+
+    Boolean getActive();
+
+    String getPasswordHash();
+
+    String getSalt();
+}
@@ -0,0 +1,25 @@
+package com.epam.campstone.eventbookingsystem.security;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable view of the signed-in user, holding just what pages and services need to act on
+ * the user's behalf. Unlike the {@code User} entity it has no lazy associations, so it can be
+ * cached and shared between requests.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class AuthenticatedUser {
+    private final Long id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final String roleName;
+    private final Integer countryId;
+    private final boolean active;
+}
@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.security;
 import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.model.UserPasswordHistory;
 import com.epam.campstone.eventbookingsystem.model.UserRole;
+import com.epam.campstone.eventbookingsystem.repository.projection.UserCredentialsView;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -62,6 +63,17 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    public static UserDetailsImpl build(UserCredentialsView credentials) {
+        return new UserDetailsImpl(
+                credentials.getId(),
+                credentials.getEmail(),
+                credentials.getPasswordHash(),
+                credentials.getSalt(),
+                Collections.singletonList(new SimpleGrantedAuthority(credentials.getRoleName())),
+                Boolean.TRUE.equals(credentials.getActive())
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
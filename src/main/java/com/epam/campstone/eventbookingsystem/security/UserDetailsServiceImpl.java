@@ -1,31 +1,47 @@
 package com.epam.campstone.eventbookingsystem.security;
 
-import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.repository.UserRepository;
+import com.epam.campstone.eventbookingsystem.repository.projection.UserCredentialsView;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  CurrentUserService currentUserService) {
         this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
     }
 
+    /**
+     * Load the user, their role and current password in one query. Called on form login and
+     * whenever a remember-me cookie is presented, so the principal cache is filled here too.
+     */
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.info("Loading user by email: {}", email);
 
-        User user = userRepository.findByEmail(email)
+        UserCredentialsView credentials = userRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
-        return UserDetailsImpl.build(user);
+        UserDetailsImpl userDetails = UserDetailsImpl.build(credentials);
+        currentUserService.cache(new AuthenticatedUser(
+                credentials.getId(),
+                credentials.getEmail(),
+                credentials.getFirstName(),
+                credentials.getLastName(),
+                credentials.getRoleName(),
+                credentials.getCountryId(),
+                Boolean.TRUE.equals(credentials.getActive())
+        ));
+        return userDetails;
     }
 }
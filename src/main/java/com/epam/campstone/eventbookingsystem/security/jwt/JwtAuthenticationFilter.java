@@ -0,0 +1,66 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates API requests from their bearer token. The principal is built from the signed
+ * claims alone, so no session is created and the user is not read from the database. A request
+ * without a valid token continues unauthenticated and is rejected by the authorization rules.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    public JwtAuthenticationFilter(JwtUtils jwtUtils) {
+        this.jwtUtils = jwtUtils;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            jwtUtils.parseJwtToken(header.substring(BEARER_PREFIX.length()))
+                    .map(this::toAuthentication)
+                    .ifPresent(authentication -> {
+                        authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        securityContextHolderStrategy.setContext(context);
+                    });
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private UsernamePasswordAuthenticationToken toAuthentication(Claims claims) {
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        JwtPrincipal principal = new JwtPrincipal(userId, claims.getSubject(), role);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                List.of(new SimpleGrantedAuthority(role)));
+    }
+}
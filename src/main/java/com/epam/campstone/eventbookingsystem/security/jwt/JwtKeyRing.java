@@ -0,0 +1,258 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * The keys that sign and verify JWT tokens.
+ * <p>
+ * Asymmetric keys are read from {@code app.jwt.key-directory}: every key has a public key in
+ * {@code <kid>.pub} (X.509 PEM) and, on the nodes that issue tokens, a private key in
+ * {@code <kid>.key} (PKCS#8 PEM). RSA keys sign with RS256 and P-256 keys with ES256. Tokens are
+ * signed with the private key of the greatest key ID, so date-based IDs rotate in order, and
+ * carry that ID in their {@code kid} header. Every public key in the directory verifies tokens.
+ * <p>
+ * To rotate, publish the new {@code .pub} first so verifiers and JWKS clients pick it up, then
+ * add its {@code .key}; remove the old {@code .key} and keep the old {@code .pub} until the last
+ * token it signed has expired. The directory is re-read every {@code app.jwt.key-refresh-interval-ms}.
+ * <p>
+ * Without a key directory, tokens are signed with the HS256 {@code app.jwt.secret}. While the
+ * secret is set, tokens without a {@code kid} are still verified with it, which lets tokens issued
+ * before a move to asymmetric keys run out.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final String PUBLIC_KEY_SUFFIX = ".pub";
+    private static final String PRIVATE_KEY_SUFFIX = ".key";
+    private static final List<String> KEY_ALGORITHMS = List.of("RSA", "EC");
+
+    private final Key hmacKey;
+    private final Path keyDirectory;
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(@Value("${app.jwt.secret:}") String jwtSecret,
+                      @Value("${app.jwt.key-directory:}") String keyDirectory) {
+        this.hmacKey = jwtSecret.isBlank() ? null : Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.keyDirectory = keyDirectory.isBlank() ? null : Path.of(keyDirectory);
+        this.snapshot = keyDirectory.isBlank() ? Snapshot.EMPTY : load(this.keyDirectory);
+        if (hmacKey == null && snapshot.verificationKeys().isEmpty()) {
+            throw new IllegalStateException("Either app.jwt.secret (JWT_SECRET) or app.jwt.key-directory must be configured");
+        }
+    }
+
+    /**
+     * Re-read the key directory so keys added or withdrawn during a rotation take effect. A
+     * directory that cannot be read leaves the current keys in place.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.key-refresh-interval-ms:60000}",
+            initialDelayString = "${app.jwt.key-refresh-interval-ms:60000}")
+    public void refresh() {
+        if (keyDirectory == null) {
+            return;
+        }
+        try {
+            Snapshot loaded = load(keyDirectory);
+            if (!loaded.verificationKeys().keySet().equals(snapshot.verificationKeys().keySet())) {
+                log.info("JWT verification keys changed to {}, signing with {}",
+                        loaded.verificationKeys().keySet(), loaded.signingKeyId());
+            }
+            snapshot = loaded;
+        } catch (IllegalStateException e) {
+            log.error("Keeping the current JWT keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sign a token with the current signing key
+     *
+     * @param builder the token to sign
+     * @return the builder, signed
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        Snapshot current = snapshot;
+        if (current.signingKey() != null) {
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, current.signingKeyId())
+                    .signWith(current.signingKey(), current.signingAlgorithm());
+        }
+        if (hmacKey != null) {
+            return builder.signWith(hmacKey, SignatureAlgorithm.HS256);
+        }
+        throw new IllegalStateException("This node has no JWT signing key");
+    }
+
+    /**
+     * Check whether tokens signed with a key are still accepted, e.g. before trusting a token
+     * that was verified earlier
+     *
+     * @param keyId the {@code kid} header of the token, null for HS256 tokens
+     * @return true if the key is still part of the ring
+     */
+    public boolean isTrusted(String keyId) {
+        return keyId == null ? hmacKey != null : snapshot.verificationKeys().containsKey(keyId);
+    }
+
+    /**
+     * The public keys as a JSON Web Key Set
+     *
+     * @return the JWKS document
+     */
+    public Map<String, Object> jwkSet() {
+        return snapshot.jwkSet();
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            if (hmacKey == null) {
+                throw new UnsupportedJwtException("JWT has no key ID");
+            }
+            return hmacKey;
+        }
+        PublicKey key = snapshot.verificationKeys().get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key ID: " + keyId);
+        }
+        return key;
+    }
+
+    private static Snapshot load(Path directory) {
+        Map<String, PublicKey> publicKeys = new TreeMap<>();
+        Map<String, PrivateKey> privateKeys = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    publicKeys.put(keyId(name, PUBLIC_KEY_SUFFIX), readPublicKey(file));
+                } else if (name.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    privateKeys.put(keyId(name, PRIVATE_KEY_SUFFIX), readPrivateKey(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT keys from " + directory, e);
+        }
+
+        // The newest private key whose public key is published signs
+        String signingKeyId = null;
+        for (String keyId : privateKeys.keySet()) {
+            if (publicKeys.containsKey(keyId)) {
+                signingKeyId = keyId;
+            } else {
+                log.warn("Ignoring JWT private key {} without a published public key", keyId);
+            }
+        }
+        PrivateKey signingKey = signingKeyId == null ? null : privateKeys.get(signingKeyId);
+        SignatureAlgorithm algorithm = signingKey == null ? null : algorithmFor(signingKey);
+
+        List<JWK> jwks = new ArrayList<>();
+        publicKeys.forEach((keyId, key) -> jwks.add(toJwk(keyId, key)));
+        return new Snapshot(Map.copyOf(publicKeys), signingKeyId, signingKey, algorithm,
+                new JWKSet(jwks).toJSONObject());
+    }
+
+    private static JWK toJwk(String keyId, PublicKey key) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(algorithmFor(key).getValue());
+        if (key instanceof RSAPublicKey rsa) {
+            return new RSAKey.Builder(rsa).keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).build();
+        }
+        ECPublicKey ec = (ECPublicKey) key;
+        return new ECKey.Builder(Curve.forECParameterSpec(ec.getParams()), ec)
+                .keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).build();
+    }
+
+    private static SignatureAlgorithm algorithmFor(Key key) {
+        if (key instanceof java.security.interfaces.RSAKey) {
+            return SignatureAlgorithm.RS256;
+        }
+        int fieldSize = ((java.security.interfaces.ECKey) key).getParams().getCurve().getField().getFieldSize();
+        return switch (fieldSize) {
+            case 256 -> SignatureAlgorithm.ES256;
+            case 384 -> SignatureAlgorithm.ES384;
+            case 521 -> SignatureAlgorithm.ES512;
+            default -> throw new IllegalStateException("Unsupported EC key size for JWT: " + fieldSize);
+        };
+    }
+
+    private static String keyId(String fileName, String suffix) {
+        return fileName.substring(0, fileName.length() - suffix.length());
+    }
+
+    private static PublicKey readPublicKey(Path file) throws IOException {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(readPem(file));
+        return (PublicKey) generate(file, spec, true);
+    }
+
+    private static PrivateKey readPrivateKey(Path file) throws IOException {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(readPem(file));
+        return (PrivateKey) generate(file, spec, false);
+    }
+
+    private static Key generate(Path file, KeySpec spec, boolean publicKey) {
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance(algorithm);
+                return publicKey ? factory.generatePublic(spec) : factory.generatePrivate(spec);
+            } catch (InvalidKeySpecException e) {
+                // Not a key of this algorithm, try the next one
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot load JWT key " + file, e);
+            }
+        }
+        throw new IllegalStateException("JWT key " + file + " is neither an RSA nor an EC key");
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        String pem = Files.readString(file);
+        return Base64.getMimeDecoder().decode(pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", ""));
+    }
+
+    private record Snapshot(Map<String, PublicKey> verificationKeys,
+                            String signingKeyId,
+                            PrivateKey signingKey,
+                            SignatureAlgorithm signingAlgorithm,
+                            Map<String, Object> jwkSet) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), null, null, null, new JWKSet().toJSONObject());
+    }
+}
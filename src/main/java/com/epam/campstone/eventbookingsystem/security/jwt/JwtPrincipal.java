@@ -0,0 +1,18 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import java.security.Principal;
+
+/**
+ * The caller of an API request, taken from the claims of its bearer token.
+ *
+ * @param id       the user ID
+ * @param email    the user's email
+ * @param roleName the user's role name
+ */
+public record JwtPrincipal(Long id, String email, String roleName) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,28 +1,53 @@
 package com.epam.campstone.eventbookingsystem.security.jwt;
 
+import com.epam.campstone.eventbookingsystem.security.UserDetailsImpl;
+import com.epam.campstone.eventbookingsystem.util.TokenHashUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for JWT token operations including generation, validation, and parsing.
+ * <p>
+ * Tokens are signed and verified with the keys of the {@link JwtKeyRing}. The parser is built once;
+ * it is immutable and shared by all threads. Tokens that passed verification are remembered by the
+ * SHA-256 hash of the token until they expire, so a client repeating the same bearer token is not
+ * verified again unless its signing key has been withdrawn from the ring meanwhile.
  */
 @Component
 @Slf4j
 public class JwtUtils {
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
 
-    @Value("${app.jwt.expiration.ms:3600000}")
-    private int jwtExpirationMs;
+    private final JwtKeyRing keyRing;
+    private final int jwtExpirationMs;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtils(JwtKeyRing keyRing,
+                    @Value("${app.jwt.expiration.ms:3600000}") int jwtExpirationMs,
+                    @Value("${app.jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize) {
+        this.keyRing = keyRing;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
 
     /**
      * Generates a JWT token for the provided UserDetails
@@ -30,23 +55,32 @@ public class JwtUtils {
      * @param userDetails the user details
      * @return JWT token as a string
      */
-    public String generateJwtToken(UserDetails userDetails) {
+    public String generateJwtToken(UserDetailsImpl userDetails) {
         log.info("Generating JWT token for user: {}", userDetails.getUsername());
-        return generateTokenFromUsername(userDetails.getUsername());
+        String role = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("User " + userDetails.getUsername() + " has no role"));
+        return generateToken(userDetails.getId(), userDetails.getUsername(), role);
     }
 
     /**
-     * Generates a JWT token from a username
+     * Generates a JWT token carrying everything the API needs to authorize a request, so the
+     * user does not have to be read from the database
      *
-     * @param username the username
+     * @param userId   the user ID
+     * @param email    the user's email, used as the subject
+     * @param roleName the user's role name
      * @return JWT token as a string
      */
-    public String generateTokenFromUsername(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+    public String generateToken(Long userId, String email, String roleName) {
+        Date now = new Date();
+        return keyRing.sign(Jwts.builder()
+                        .setSubject(email)
+                        .claim(USER_ID_CLAIM, userId)
+                        .claim(ROLE_CLAIM, roleName)
+                        .setIssuedAt(now)
+                        .setExpiration(new Date(now.getTime() + jwtExpirationMs)))
                 .compact();
     }
 
@@ -57,33 +91,77 @@ public class JwtUtils {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateJwtToken(String authToken) {
+        return parseJwtToken(authToken).isPresent();
+    }
+
+    /**
+     * Verifies a JWT token and returns its claims. The claims are shared with later callers
+     * presenting the same token and must not be modified.
+     *
+     * @param authToken the JWT token
+     * @return the claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> parseJwtToken(String authToken) {
+        if (authToken == null || authToken.isBlank()) {
+            log.error("JWT claims string is empty");
+            return Optional.empty();
+        }
+        String key = TokenHashUtil.sha256Hex(authToken);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null && keyRing.isTrusted(verified.keyId())) {
+            return Optional.of(verified.claims());
+        }
+        Jws<Claims> jws;
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            jws = parser.parseClaimsJws(authToken);
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
+            return Optional.empty();
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
+            return Optional.empty();
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+            return Optional.empty();
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+            return Optional.empty();
+        } catch (JwtException e) {
+            log.error("JWT token cannot be verified: {}", e.getMessage());
+            return Optional.empty();
         }
-        return false;
+        Claims claims = jws.getBody();
+        // A token without an expiry is verified every time rather than cached forever
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, new VerifiedToken(claims, jws.getHeader().getKeyId()));
+        }
+        return Optional.of(claims);
     }
 
     /**
-     * Gets the signing key for JWT token generation and validation
-     *
-     * @return the signing key
+     * Expires a verified token from the cache at the moment the token itself expires.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMs = token.claims().getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record VerifiedToken(Claims claims, String keyId) {
     }
 }
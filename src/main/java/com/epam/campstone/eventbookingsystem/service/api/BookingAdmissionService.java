@@ -0,0 +1,49 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.dto.AdmissionStatusDto;
+
+import java.util.Optional;
+
+/**
+ * Waiting room in front of booking creation.
+ * <p>
+ * Booking attempts take a token from a bucket that refills at the rate the database is measured
+ * to sustain. When the bucket is empty users join a bounded FIFO queue per event and are admitted
+ * in order as tokens become available, so admitted requests keep flat latency instead of piling
+ * up on the connection pool.
+ */
+public interface BookingAdmissionService {
+
+    /**
+     * Ask to make a booking for an event. Joins the queue if the user cannot be admitted right away.
+     *
+     * @param eventId   the event ID
+     * @param userEmail the email of the user
+     * @return the admission state of the user
+     * @throws IllegalStateException if the waiting room of the event is full
+     */
+    AdmissionStatusDto enter(Long eventId, String userEmail);
+
+    /**
+     * Get the admission state of a user without joining the queue.
+     *
+     * @param eventId   the event ID
+     * @param userEmail the email of the user
+     * @return the admission state, or empty if the user is neither queued nor admitted
+     */
+    Optional<AdmissionStatusDto> status(Long eventId, String userEmail);
+
+    /**
+     * Consume the admission of a user after a booking attempt and record how long it took.
+     *
+     * @param eventId      the event ID
+     * @param userEmail    the email of the user
+     * @param elapsedNanos the duration of the booking attempt
+     */
+    void complete(Long eventId, String userEmail, long elapsedNanos);
+
+    /**
+     * Admit queued users with the tokens gathered since the last call.
+     */
+    void admitWaiting();
+}
@@ -4,6 +4,7 @@ import com.epam.campstone.eventbookingsystem.dto.BookingDto;
 import com.epam.campstone.eventbookingsystem.dto.BookingStatus;
 import com.epam.campstone.eventbookingsystem.model.Booking;
 import com.epam.campstone.eventbookingsystem.model.Seat;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +28,15 @@ public interface BookingService {
      */
     Optional<Booking> findByIdAndUserEmail(Long id, String userEmail);
 
+    /**
+     * Find the booking a user created with the given idempotency key
+     *
+     * @param userEmail      the user's email
+     * @param idempotencyKey the client-supplied key of the booking request
+     * @return an Optional containing the booking if the request was already processed
+     */
+    Optional<Booking> findByIdempotencyKey(String userEmail, String idempotencyKey);
+
     /**
      * Cancel a booking
      *
@@ -41,7 +51,7 @@ public interface BookingService {
      * @param userEmail the user's email
      * @return list of the user's bookings
      */
-    List<Booking> findUserBookings(String userEmail);
+    List<BookingSummaryView> findUserBookings(String userEmail);
 
     /**
      * Find tickets for a specific booking
@@ -51,5 +61,12 @@ public interface BookingService {
      */
     List<Seat> findSeatsByBookingId(Long bookingId);
 
-    List<Booking> findUserBookingsByStatus(String username, BookingStatus bookingStatus);
+    /**
+     * Find the bookings of a user in a status, newest first
+     *
+     * @param username      the user's email
+     * @param bookingStatus the booking status
+     * @return list of the user's bookings
+     */
+    List<BookingSummaryView> findUserBookingsByStatus(String username, BookingStatus bookingStatus);
 }
@@ -0,0 +1,30 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.dto.UserBookingsDto;
+
+/**
+ * Paginated booking history of a user, cached per user and page.
+ * <p>
+ * Both tabs of a page are read in one query. Whatever changes the status of a user's booking
+ * (booking, cancellation, hold expiry, payment) must evict the user's pages here; inside a
+ * transaction the eviction is repeated after commit, so a concurrent reader cannot put the
+ * pre-commit state back into the cache.
+ */
+public interface BookingSummaryService {
+
+    /**
+     * Find a page of a user's temporary holds and purchased bookings, newest first.
+     *
+     * @param userId the user ID
+     * @param page   the zero-based page number
+     * @return the page of both tabs with the total of each
+     */
+    UserBookingsDto findUserBookings(Long userId, int page);
+
+    /**
+     * Evict every cached page of a user.
+     *
+     * @param userId the user ID
+     */
+    void evict(Long userId);
+}
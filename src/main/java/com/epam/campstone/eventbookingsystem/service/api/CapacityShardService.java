@@ -0,0 +1,58 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+/**
+ * Sharded capacity counters for events with heavy booking traffic.
+ * <p>
+ * When sharding is enabled for an event its available capacity lives in N sub-counter rows.
+ * Each booking claims from a randomly chosen row, which spreads lock contention, and a periodic
+ * fold writes the sum back to {@code event.available_attendees_capacity}.
+ */
+public interface CapacityShardService {
+
+    /**
+     * Check whether the capacity of an event is sharded.
+     *
+     * @param eventId the event ID
+     * @return true if the event capacity is split into shards
+     */
+    boolean isSharded(Long eventId);
+
+    /**
+     * Split the available capacity of an event into shards, or turn sharding off.
+     *
+     * @param eventId the event ID
+     * @param shards  the number of shards, 0 to fold the shards back into the event and disable sharding
+     */
+    void setShardCount(Long eventId, int shards);
+
+    /**
+     * Take spots from the shards of an event.
+     *
+     * @param eventId the event ID
+     * @param count   the number of spots to take
+     * @return true if the spots were taken, false if the event is not sharded
+     * @throws IllegalStateException if the shards together hold fewer spots than requested
+     */
+    boolean take(Long eventId, int count);
+
+    /**
+     * Return spots to a randomly chosen shard of an event.
+     *
+     * @param eventId the event ID
+     * @param count   the number of spots to return
+     * @return true if the spots were returned, false if the event is not sharded
+     */
+    boolean give(Long eventId, int count);
+
+    /**
+     * Forget the cached shard count of an event, e.g. after another instance changed it.
+     *
+     * @param eventId the event ID
+     */
+    void evict(Long eventId);
+
+    /**
+     * Write the sum of every sharded event's shards to its headline capacity.
+     */
+    void fold();
+}
@@ -27,6 +27,14 @@ public interface CityService {
      */
     List<City> findByCountry(Country country);
 
+    /**
+     * Find cities by country ID.
+     *
+     * @param countryId the country ID
+     * @return a list of cities
+     */
+    List<City> findByCountryId(Integer countryId);
+
     /**
      * Save a city.
      *
@@ -0,0 +1,37 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
+
+import java.util.Optional;
+
+/**
+ * Principals of signed-in users, so pages do not load the {@code User} entity on every request.
+ * <p>
+ * A principal is looked up in the current request first, then in a short-lived cache shared by
+ * all requests, and only then in the database. The cache is filled when a user signs in;
+ * whatever changes a user's profile or password must evict the user here.
+ */
+public interface CurrentUserService {
+
+    /**
+     * Find the principal of a user.
+     *
+     * @param email the user's email
+     * @return an Optional containing the principal if the user exists
+     */
+    Optional<AuthenticatedUser> findByEmail(String email);
+
+    /**
+     * Put a freshly loaded principal into the shared cache.
+     *
+     * @param user the principal
+     */
+    void cache(AuthenticatedUser user);
+
+    /**
+     * Drop the cached principal of a user so it is reloaded on next access.
+     *
+     * @param email the user's email
+     */
+    void evict(String email);
+}
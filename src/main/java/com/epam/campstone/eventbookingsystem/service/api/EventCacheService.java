@@ -0,0 +1,33 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import java.util.Collection;
+
+/**
+ * Eviction of events from the Hibernate second-level cache.
+ * <p>
+ * Hibernate keeps the cache in step with changes made through JPA. Changes made with plain SQL,
+ * such as the capacity updates, bypass it and must evict the affected events here. Inside a
+ * transaction the eviction is repeated after commit, so a concurrent reader cannot put the
+ * pre-commit state back into the cache.
+ */
+public interface EventCacheService {
+
+    /**
+     * Evict a single event.
+     *
+     * @param eventId the event ID
+     */
+    void evictEvent(Long eventId);
+
+    /**
+     * Evict several events.
+     *
+     * @param eventIds the event IDs
+     */
+    void evictEvents(Collection<Long> eventIds);
+
+    /**
+     * Evict every cached result of the upcoming events query.
+     */
+    void evictUpcomingEvents();
+}
@@ -2,24 +2,26 @@ package com.epam.campstone.eventbookingsystem.service.api;
 
 import com.epam.campstone.eventbookingsystem.controller.HomeController;
 import com.epam.campstone.eventbookingsystem.dto.CategoryOptionDto;
+import com.epam.campstone.eventbookingsystem.dto.CursorPageDto;
 import com.epam.campstone.eventbookingsystem.dto.EventDto;
 import com.epam.campstone.eventbookingsystem.dto.EventSearchDto;
 import com.epam.campstone.eventbookingsystem.model.Event;
 import com.epam.campstone.eventbookingsystem.model.EventType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface EventService {
     /**
-     * Find all events with pagination
+     * Find all events in chronological order, one page at a time
      *
-     * @param pageable pagination information
-     * @return page of events
+     * @param cursor the token of the page to read, {@code null} for the first page
+     * @param size   the page size
+     * @return the page with an estimated total
      */
-    Page<Event> findEvents(Pageable pageable);
+    CursorPageDto<EventCardView> findEvents(String cursor, int size);
 
     /**
      * Find an event by ID
@@ -29,6 +31,14 @@ public interface EventService {
      */
     Optional<Event> findById(Long id);
 
+    /**
+     * Find an event to display, with its status, type and venue with its city loaded
+     *
+     * @param id the event ID
+     * @return an Optional containing the event if found
+     */
+    Optional<Event> findWithDetailsById(Long id);
+
     /**
      * Create a new event
      *
@@ -68,11 +78,36 @@ public interface EventService {
      */
     void increaseAvailableSpots(Long eventId, int count);
 
-    List<Event> getFeaturedEvents(int i);
+    /**
+     * Apply capacity changes to many events at once
+     *
+     * @param deltas the change of available spots per event ID, negative to take spots and positive to return them
+     * @return the new number of available spots of every event the change was applied to
+     */
+    Map<Long, Integer> adjustAvailableSpots(Map<Long, Integer> deltas);
+
+    /**
+     * Split the available capacity of an event into shards to spread booking contention
+     *
+     * @param eventId the event ID
+     * @param shards  number of shards, 0 to turn sharding off
+     */
+    void setCapacityShards(Long eventId, int shards);
 
-    Page<Event> searchEvents(EventSearchDto searchParams, Pageable pageable);
+    List<EventCardView> getFeaturedEvents(int i);
+
+    /**
+     * Search events in chronological order, one page at a time
+     *
+     * @param searchParams the search criteria
+     * @param cursor       the token of the page to read, {@code null} for the first page
+     * @param size         the page size
+     * @param withTotal    whether to count all matching events, which costs a query over the whole result
+     * @return the page, with a total only if requested
+     */
+    CursorPageDto<EventCardView> searchEvents(EventSearchDto searchParams, String cursor, int size, boolean withTotal);
 
     List<CategoryOptionDto> getCategoryOptions();
 
-    List<Event> getFeaturedEventsByUser(int i, Long userId);
+    List<EventCardView> getFeaturedEventsByUser(int i, Long userId);
 }
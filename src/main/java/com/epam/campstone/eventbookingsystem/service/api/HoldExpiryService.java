@@ -0,0 +1,29 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import java.time.Instant;
+
+/**
+ * Expiry of {@code TEMPORARY_HOLD} bookings.
+ * <p>
+ * Pending holds are kept in an in-memory timing wheel keyed by {@code Booking.expiresAt};
+ * the database is only touched when holds are actually due. Due holds are expired in
+ * batches: their reserved seats are released in bulk and the held spots are returned
+ * with one capacity update per event.
+ */
+public interface HoldExpiryService {
+
+    /**
+     * Schedule a temporary hold for expiry.
+     *
+     * @param bookingId the booking ID
+     * @param expiresAt the time the hold expires
+     */
+    void track(Long bookingId, Instant expiresAt);
+
+    /**
+     * Expire every tracked hold whose expiry time has passed.
+     *
+     * @return the number of bookings moved to EXPIRED
+     */
+    int expireDueHolds();
+}
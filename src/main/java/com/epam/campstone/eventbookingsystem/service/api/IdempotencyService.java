@@ -0,0 +1,38 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Replay protection for non-idempotent requests such as booking and payment submissions.
+ * <p>
+ * Results are remembered per scope, owner and client-supplied key in a bounded in-memory cache
+ * with a time-to-live. A replay of a completed request returns the remembered result; a replay
+ * that arrives while the first request is still running waits for its result instead of
+ * running the action a second time. Failed actions are not remembered, so they can be retried.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Get the remembered result of a completed request.
+     *
+     * @param scope the kind of request, e.g. "booking"
+     * @param owner the user the key belongs to
+     * @param key   the client-supplied idempotency key, may be null
+     * @param type  the type of the result
+     * @return the result, or empty if the key is unknown, still running or null
+     */
+    <T> Optional<T> findResult(String scope, String owner, String key, Class<T> type);
+
+    /**
+     * Run an action once per key and return its result, or the result of the earlier run for a replay.
+     * Without a key the action is simply run.
+     *
+     * @param scope  the kind of request, e.g. "booking"
+     * @param owner  the user the key belongs to
+     * @param key    the client-supplied idempotency key, may be null
+     * @param action the action to run
+     * @return the result of the action
+     */
+    <T> T execute(String scope, String owner, String key, Supplier<T> action);
+}
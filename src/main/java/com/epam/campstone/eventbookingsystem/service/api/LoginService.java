@@ -2,7 +2,9 @@ package com.epam.campstone.eventbookingsystem.service.api;
 
 import com.epam.campstone.eventbookingsystem.dto.JwtResponseDto;
 import com.epam.campstone.eventbookingsystem.dto.LoginRequestDto;
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.AuthenticationException;
+import com.epam.campstone.eventbookingsystem.exception.TokenRefreshException;
 
 public interface LoginService {
     /**
@@ -14,5 +16,14 @@ public interface LoginService {
      */
     JwtResponseDto authenticateUser(LoginRequestDto loginRequest);
 
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token
+     *
+     * @param refreshToken the refresh token issued at login or by the previous refresh
+     * @return the new tokens
+     * @throws TokenRefreshException if the refresh token can not be used
+     */
+    TokenRefreshResponse refreshToken(String refreshToken);
+
     void logoutUser(String refreshToken);
 }
@@ -0,0 +1,104 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.model.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only registry of the small lookup tables: booking, seat and event statuses, event types,
+ * user roles, countries and cities.
+ * <p>
+ * The tables are loaded once into an immutable snapshot that is swapped as a whole, so lookups
+ * never hit the database. The snapshot is reloaded after a country or city changes and on a
+ * fixed interval to pick up rows changed outside the application.
+ * <p>
+ * The returned entities are detached and shared between requests; they may be used as
+ * references of other entities but must not be modified.
+ */
+public interface ReferenceDataService {
+
+    /**
+     * @param name the status name, e.g. {@code TEMPORARY_HOLD}
+     * @return the booking status
+     * @throws IllegalStateException if there is no such status
+     */
+    BookingStatus bookingStatus(String name);
+
+    /**
+     * @param name the status name, e.g. {@code AVAILABLE}
+     * @return the seat status
+     * @throws IllegalStateException if there is no such status
+     */
+    SeatStatus seatStatus(String name);
+
+    /**
+     * @param name the status name, e.g. {@code PLANNED}
+     * @return the event status
+     * @throws IllegalStateException if there is no such status
+     */
+    EventStatus eventStatus(String name);
+
+    /**
+     * @param name the role name, e.g. {@code USER}
+     * @return the user role
+     * @throws IllegalStateException if there is no such role
+     */
+    UserRole userRole(String name);
+
+    /**
+     * @param id the event type ID
+     * @return the event type, if it exists
+     */
+    Optional<EventType> findEventType(Long id);
+
+    /**
+     * @return all event types, ordered by ID
+     */
+    List<EventType> eventTypes();
+
+    /**
+     * @param id the country ID
+     * @return the country, if it exists
+     */
+    Optional<Country> findCountry(Integer id);
+
+    /**
+     * @param name the country name
+     * @return the country, if it exists
+     */
+    Optional<Country> findCountry(String name);
+
+    /**
+     * @return all countries, ordered by name
+     */
+    List<Country> countries();
+
+    /**
+     * @param id the city ID
+     * @return the city with its country, if it exists
+     */
+    Optional<City> findCity(Integer id);
+
+    /**
+     * @param name the city name
+     * @return the city with its country, if it exists
+     */
+    Optional<City> findCity(String name);
+
+    /**
+     * @param countryId the country ID
+     * @return the cities of the country, ordered by name
+     */
+    List<City> citiesOf(Integer countryId);
+
+    /**
+     * @return all cities, ordered by name
+     */
+    List<City> cities();
+
+    /**
+     * Reload the snapshot. Inside a transaction the reload is deferred until it commits.
+     */
+    void refresh();
+}
@@ -1,43 +1,41 @@
 package com.epam.campstone.eventbookingsystem.service.api;
 
-import com.epam.campstone.eventbookingsystem.model.RefreshToken;
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.TokenRefreshException;
 
-import java.util.Optional;
-
 /**
  * Service interface for managing refresh tokens.
- * Provides methods to create, find, verify, and delete refresh tokens.
+ * Provides methods to issue, rotate and revoke refresh tokens. Only the SHA-256 hash of a token
+ * is stored; the token itself is returned to the client once.
  */
 public interface RefreshTokenService {
 
     /**
-     * Creates a new refresh token for the specified user.
-     * If a refresh token already exists for the user, it will be deleted first.
+     * Creates a new refresh token for the specified user, starting a new token family.
+     * Tokens of the user's other logins are kept.
      *
      * @param userId the ID of the user
-     * @return the created refresh token
-     * @throws RuntimeException if the user is not found
+     * @return the refresh token to hand to the client
      */
-    RefreshToken createRefreshToken(Long userId);
+    String createRefreshToken(Long userId);
 
     /**
-     * Finds a refresh token by its token string.
+     * Exchanges a refresh token for a new access token and a new refresh token of the same
+     * family. The presented token can not be used again: presenting a used token is treated as
+     * theft and revokes every token of its family.
      *
-     * @param token the token string to search for
-     * @return an Optional containing the refresh token if found, empty otherwise
+     * @param refreshToken the refresh token presented by the client
+     * @return the new access and refresh tokens
+     * @throws TokenRefreshException if the token is unknown, expired, already used or its user is not active
      */
-    Optional<RefreshToken> findByToken(String token);
+    TokenRefreshResponse rotate(String refreshToken);
 
     /**
-     * Verifies if a refresh token is valid and not expired.
-     * If the token is expired, it will be deleted and an exception will be thrown.
+     * Deletes all refresh tokens of the user owning the given token, if it is known.
      *
-     * @param token the refresh token to verify
-     * @return the verified refresh token
-     * @throws TokenRefreshException if the token is expired
+     * @param refreshToken the refresh token presented by the client
      */
-    RefreshToken verifyExpiration(RefreshToken token);
+    void revoke(String refreshToken);
 
     /**
      * Deletes all refresh tokens associated with the specified user.
@@ -45,4 +43,4 @@ public interface RefreshTokenService {
      * @param userId the ID of the user
      */
     void deleteByUserId(Long userId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+/**
+ * Removal of expired refresh tokens.
+ * <p>
+ * Rotation leaves a used token behind for reuse detection and abandoned logins are never
+ * refreshed, so expired tokens are swept in the background: in small batches read from the
+ * {@code expiry_date} index, each in its own short transaction, with a pause between batches and
+ * a cap per run so the sweep never competes with logins and refreshes.
+ */
+public interface RefreshTokenSweepService {
+
+    /**
+     * Delete expired refresh tokens, up to the configured number of batches.
+     *
+     * @return the number of deleted tokens
+     */
+    int purgeExpired();
+}
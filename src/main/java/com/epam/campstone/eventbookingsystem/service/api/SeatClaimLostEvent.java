@@ -0,0 +1,14 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import java.util.List;
+
+/**
+ * Published by the {@link SeatInventoryService} when seats assigned to a booking could not be
+ * written because another application node had claimed them in the database first.
+ *
+ * @param eventId   the event ID
+ * @param bookingId the booking that lost the seats
+ * @param seatIds   the IDs of the lost seats
+ */
+public record SeatClaimLostEvent(Long eventId, Long bookingId, List<Long> seatIds) {
+}
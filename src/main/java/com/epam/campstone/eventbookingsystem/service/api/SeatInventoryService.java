@@ -0,0 +1,94 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.dto.SeatDto;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory seat inventory of events.
+ * <p>
+ * Seat claims are decided in memory without a database round trip; the
+ * resulting {@code event_seat} changes are written through asynchronously
+ * in batches. A write only applies to a row still in the state this node
+ * last saw; a seat claimed by another node first is lost, a
+ * {@link SeatClaimLostEvent} is published for its booking and the seat map
+ * of its event is reloaded from the database.
+ * <p>
+ * A seat map is only dropped, and later reloaded, once the database has
+ * every claim it holds: while claims are unassigned or their changes are
+ * not written yet, it is kept regardless of idleness or the size limit.
+ */
+public interface SeatInventoryService {
+
+    /**
+     * Claim all given seats of an event, or none of them.
+     * The claim is held in memory only until it is assigned or released.
+     *
+     * @param eventId the event ID
+     * @param seatIds the IDs of the seats to claim
+     * @return true if every seat was free and is now claimed
+     */
+    boolean reserve(Long eventId, Collection<Long> seatIds);
+
+    /**
+     * Assign previously reserved seats to a booking and schedule the
+     * {@code RESERVED} state to be written to the database.
+     *
+     * @param eventId   the event ID
+     * @param seatIds   the IDs of the reserved seats
+     * @param bookingId the ID of the booking holding the seats
+     */
+    void assign(Long eventId, Collection<Long> seatIds, Long bookingId);
+
+    /**
+     * Release seats of an event and schedule the {@code AVAILABLE} state to be written to the database.
+     *
+     * @param eventId the event ID
+     * @param seatIds the IDs of the seats to release
+     */
+    void release(Long eventId, Collection<Long> seatIds);
+
+    /**
+     * Release every seat held by a booking.
+     *
+     * @param eventId   the event ID
+     * @param bookingId the booking ID
+     * @return the number of seats released
+     */
+    int releaseBooking(Long eventId, Long bookingId);
+
+    /**
+     * Find the best block of adjacent free seats in one row: the block closest to the middle of
+     * its row, front rows first on a tie. Nothing is claimed.
+     *
+     * @param eventId  the event ID
+     * @param count    the number of adjacent seats wanted
+     * @param section  the section to search, or {@code null} for any section
+     * @param maxPrice the highest base price of any seat in the block, or {@code null} for no limit
+     * @return the seats of the block ordered by seat number, empty if no row has such a block
+     */
+    List<SeatDto> findBestAvailable(Long eventId, int count, String section, BigDecimal maxPrice);
+
+    /**
+     * Count the free seats of an event.
+     *
+     * @param eventId the event ID
+     * @return the number of seats not claimed by any booking
+     */
+    int countAvailableSeats(Long eventId);
+
+    /**
+     * Write the pending seat changes and drop the in-memory seat map of an event so it is reloaded on
+     * next access. A map still holding unassigned claims is dropped as soon as they are settled.
+     *
+     * @param eventId the event ID
+     */
+    void evict(Long eventId);
+
+    /**
+     * Write pending seat changes to the database.
+     */
+    void flush();
+}
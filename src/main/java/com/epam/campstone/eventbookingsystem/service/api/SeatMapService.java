@@ -0,0 +1,42 @@
+package com.epam.campstone.eventbookingsystem.service.api;
+
+import com.epam.campstone.eventbookingsystem.dto.SeatMapSectionDto;
+
+import java.util.List;
+
+/**
+ * Bulk provisioning of venue seats and per-event seat rows.
+ * <p>
+ * Seats are generated from a compact section/row/seat-range spec and written with JDBC batches,
+ * taking their IDs from the {@code seat} sequence in blocks instead of one identity round trip per row.
+ */
+public interface SeatMapService {
+
+    /**
+     * Parse a seat map spec. Sections are separated by new lines or {@code ;}, each written as
+     * {@code section:rows:seats:price}, where rows and seats are a number or an inclusive range,
+     * e.g. {@code A:1-40:1-30:49.99; VIP:1:1-12:150}.
+     *
+     * @param spec the seat map spec
+     * @return the sections of the spec
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    List<SeatMapSectionDto> parse(String spec);
+
+    /**
+     * Create the seats of a venue.
+     *
+     * @param venueId  the venue ID
+     * @param sections the seat blocks to create
+     * @return the number of seats created
+     */
+    long importVenueSeats(Long venueId, List<SeatMapSectionDto> sections);
+
+    /**
+     * Create an available {@code event_seat} row for every seat of the event's venue that has none yet.
+     *
+     * @param eventId the event ID
+     * @return the number of event seats created
+     */
+    int provisionEventSeats(Long eventId);
+}
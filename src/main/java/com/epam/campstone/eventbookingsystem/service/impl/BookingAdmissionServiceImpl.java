@@ -0,0 +1,356 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.dto.AdmissionStatusDto;
+import com.epam.campstone.eventbookingsystem.exception.ResourceNotFoundException;
+import com.epam.campstone.eventbookingsystem.repository.EventRepository;
+import com.epam.campstone.eventbookingsystem.service.api.BookingAdmissionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class BookingAdmissionServiceImpl implements BookingAdmissionService {
+
+    /**
+     * Weight of the newest sample in the booking latency average.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int maxQueueSize;
+    private final int concurrency;
+    private final double minRate;
+    private final double maxRate;
+    private final double burst;
+    private final long tickNanos;
+    private final long admissionWindowNanos;
+    private final long abandonAfterNanos;
+    private final long idleQueueNanos;
+
+    private final ConcurrentMap<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger totalWaiting = new AtomicInteger();
+    private final AtomicInteger activeQueues = new AtomicInteger();
+    private final AtomicLong latencyNanos;
+
+    private final ReentrantLock bucketLock = new ReentrantLock();
+    private double tokens;
+    private long lastRefillNanos;
+
+    public BookingAdmissionServiceImpl(EventRepository eventRepository,
+                                       @Value("${app.booking.admission.enabled:true}") boolean enabled,
+                                       @Value("${app.booking.admission.max-queue-size:50000}") int maxQueueSize,
+                                       @Value("${app.booking.admission.concurrency:10}") int concurrency,
+                                       @Value("${app.booking.admission.min-rate:5}") double minRate,
+                                       @Value("${app.booking.admission.max-rate:500}") double maxRate,
+                                       @Value("${app.booking.admission.burst:20}") double burst,
+                                       @Value("${app.booking.admission.tick-ms:200}") long tickMillis,
+                                       @Value("${app.booking.admission.initial-latency-ms:50}") long initialLatencyMillis,
+                                       @Value("${app.booking.admission.window-seconds:120}") long admissionWindowSeconds,
+                                       @Value("${app.booking.admission.abandon-after-seconds:60}") long abandonAfterSeconds,
+                                       @Value("${app.booking.admission.idle-queue-seconds:300}") long idleQueueSeconds) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.maxQueueSize = maxQueueSize;
+        this.concurrency = concurrency;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.burst = burst;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.admissionWindowNanos = TimeUnit.SECONDS.toNanos(admissionWindowSeconds);
+        this.abandonAfterNanos = TimeUnit.SECONDS.toNanos(abandonAfterSeconds);
+        this.idleQueueNanos = TimeUnit.SECONDS.toNanos(idleQueueSeconds);
+        this.latencyNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(initialLatencyMillis));
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    @Override
+    public AdmissionStatusDto enter(Long eventId, String userEmail) {
+        if (!enabled) {
+            return admitted(eventId);
+        }
+        long now = System.nanoTime();
+        EventQueue queue = lockQueue(eventId);
+        try {
+            queue.lastActiveNanos = now;
+            if (queue.isAdmitted(userEmail, now)) {
+                return admitted(eventId);
+            }
+            Ticket ticket = queue.waitingByUser.get(userEmail);
+            if (ticket != null) {
+                ticket.lastSeenNanos = now;
+                return waiting(queue, ticket);
+            }
+            // Nobody is waiting anywhere, so taking a token directly cannot overtake a queued user
+            if (totalWaiting.get() == 0 && takeTokens(1) == 1) {
+                queue.admittedUntil.put(userEmail, now + admissionWindowNanos);
+                return admitted(eventId);
+            }
+            if (queue.waiting.size() >= maxQueueSize) {
+                throw new IllegalStateException("The waiting room for this event is full, please try again later");
+            }
+            ticket = new Ticket(userEmail, ++queue.lastSeq, now);
+            if (queue.waiting.isEmpty()) {
+                activeQueues.incrementAndGet();
+            }
+            queue.waiting.addLast(ticket);
+            queue.waitingByUser.put(userEmail, ticket);
+            totalWaiting.incrementAndGet();
+            log.debug("User {} queued for event {} at position {}", userEmail, eventId, ticket.seq - queue.admittedSeq);
+            return waiting(queue, ticket);
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<AdmissionStatusDto> status(Long eventId, String userEmail) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        queue.lock.lock();
+        try {
+            if (queue.isAdmitted(userEmail, now)) {
+                return Optional.of(admitted(eventId));
+            }
+            Ticket ticket = queue.waitingByUser.get(userEmail);
+            if (ticket == null) {
+                return Optional.empty();
+            }
+            ticket.lastSeenNanos = now;
+            queue.lastActiveNanos = now;
+            return Optional.of(waiting(queue, ticket));
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    @Override
+    public void complete(Long eventId, String userEmail, long elapsedNanos) {
+        latencyNanos.updateAndGet(average -> Math.round(average + (elapsedNanos - average) * LATENCY_SMOOTHING));
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return;
+        }
+        queue.lock.lock();
+        try {
+            queue.admittedUntil.remove(userEmail);
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.booking.admission.tick-ms:200}")
+    public void admitWaiting() {
+        long now = System.nanoTime();
+        evictIdleQueues(now);
+        if (totalWaiting.get() == 0) {
+            return;
+        }
+        int permits = takeTokens(Integer.MAX_VALUE);
+        List<EventQueue> active = new ArrayList<>(queues.values());
+        int admitted = 0;
+        // Round-robin over the events so one on-sale does not starve the others
+        boolean progress = true;
+        while (admitted < permits && progress) {
+            progress = false;
+            for (EventQueue queue : active) {
+                if (admitted == permits) {
+                    break;
+                }
+                if (admitNext(queue, now)) {
+                    admitted++;
+                    progress = true;
+                }
+            }
+        }
+        returnTokens(permits - admitted);
+        if (admitted > 0) {
+            log.debug("Admitted {} queued users, {} still waiting, rate {}/s", admitted, totalWaiting.get(),
+                    Math.round(admissionRate()));
+        }
+    }
+
+    /**
+     * Get the queue of an event, creating it for an existing event, and lock it. A queue removed
+     * as idle after it was looked up is replaced by a new one.
+     */
+    private EventQueue lockQueue(Long eventId) {
+        while (true) {
+            EventQueue queue = queues.get(eventId);
+            if (queue == null) {
+                // The event ID comes from the client; only events that exist get a queue
+                if (!eventRepository.existsById(eventId)) {
+                    throw new ResourceNotFoundException("Event not found with id: " + eventId);
+                }
+                EventQueue created = new EventQueue(eventId);
+                queue = queues.putIfAbsent(eventId, created);
+                if (queue == null) {
+                    queue = created;
+                }
+            }
+            queue.lock.lock();
+            if (!queue.removed) {
+                return queue;
+            }
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove the queues nobody has entered or polled for {@code app.booking.admission.idle-queue-seconds}
+     * once no user is waiting in them or holds an admission.
+     */
+    private void evictIdleQueues(long now) {
+        for (EventQueue queue : queues.values()) {
+            if (now - queue.lastActiveNanos <= idleQueueNanos) {
+                continue;
+            }
+            queue.lock.lock();
+            try {
+                queue.admittedUntil.values().removeIf(deadline -> deadline - now < 0);
+                if (queue.waiting.isEmpty() && queue.admittedUntil.isEmpty()
+                        && now - queue.lastActiveNanos > idleQueueNanos) {
+                    queue.removed = true;
+                    queues.remove(queue.eventId, queue);
+                    log.debug("Removed the idle waiting room of event {}", queue.eventId);
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    private boolean admitNext(EventQueue queue, long now) {
+        queue.lock.lock();
+        try {
+            queue.admittedUntil.values().removeIf(deadline -> deadline - now < 0);
+            Ticket ticket;
+            while ((ticket = queue.waiting.pollFirst()) != null) {
+                queue.waitingByUser.remove(ticket.userEmail);
+                queue.admittedSeq = ticket.seq;
+                totalWaiting.decrementAndGet();
+                if (queue.waiting.isEmpty()) {
+                    activeQueues.decrementAndGet();
+                }
+                // Users who stopped polling have left the page; do not spend a token on them
+                if (now - ticket.lastSeenNanos <= abandonAfterNanos) {
+                    queue.admittedUntil.put(ticket.userEmail, now + admissionWindowNanos);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Bookings per second the database is expected to sustain: the connections set aside for
+     * bookings divided by the average time a booking holds one.
+     */
+    private double admissionRate() {
+        double rate = concurrency * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(latencyNanos.get(), 1);
+        return Math.max(minRate, Math.min(maxRate, rate));
+    }
+
+    /**
+     * The bucket must hold at least one tick worth of tokens, otherwise the cap rather than the
+     * measured rate would bound how many queued users a tick can admit.
+     */
+    private double capacity(double rate) {
+        return Math.max(burst, rate * tickNanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private int takeTokens(int max) {
+        bucketLock.lock();
+        try {
+            long now = System.nanoTime();
+            double rate = admissionRate();
+            tokens = Math.min(capacity(rate), tokens + rate * (now - lastRefillNanos) / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+            int taken = (int) Math.min(max, Math.floor(tokens));
+            tokens -= taken;
+            return taken;
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private void returnTokens(int count) {
+        if (count <= 0) {
+            return;
+        }
+        bucketLock.lock();
+        try {
+            tokens = Math.min(capacity(admissionRate()), tokens + count);
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private AdmissionStatusDto admitted(Long eventId) {
+        return new AdmissionStatusDto(eventId, true, 0, 0);
+    }
+
+    private AdmissionStatusDto waiting(EventQueue queue, Ticket ticket) {
+        long position = ticket.seq - queue.admittedSeq;
+        // Tokens are shared round-robin between every event that has a queue
+        long etaSeconds = (long) Math.ceil(position * Math.max(1, activeQueues.get()) / admissionRate());
+        return new AdmissionStatusDto(queue.eventId, false, position, etaSeconds);
+    }
+
+    private static final class EventQueue {
+        private final Long eventId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Ticket> waiting = new ArrayDeque<>();
+        private final Map<String, Ticket> waitingByUser = new HashMap<>();
+        /**
+         * Admitted users and the time their admission lapses.
+         */
+        private final Map<String, Long> admittedUntil = new HashMap<>();
+        private long lastSeq;
+        private long admittedSeq;
+        private volatile long lastActiveNanos;
+        /**
+         * Set under the lock when the queue is dropped from the map; a caller holding it must look up the new one.
+         */
+        private boolean removed;
+
+        private EventQueue(Long eventId) {
+            this.eventId = eventId;
+            this.lastActiveNanos = System.nanoTime();
+        }
+
+        private boolean isAdmitted(String userEmail, long now) {
+            Long deadline = admittedUntil.get(userEmail);
+            return deadline != null && deadline - now >= 0;
+        }
+    }
+
+    private static final class Ticket {
+        private final String userEmail;
+        private final long seq;
+        private volatile long lastSeenNanos;
+
+        private Ticket(String userEmail, long seq, long lastSeenNanos) {
+            this.userEmail = userEmail;
+            this.seq = seq;
+            this.lastSeenNanos = lastSeenNanos;
+        }
+    }
+}
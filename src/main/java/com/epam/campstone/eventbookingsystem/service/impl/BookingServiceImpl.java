@@ -9,18 +9,33 @@ import com.epam.campstone.eventbookingsystem.model.Event;
 import com.epam.campstone.eventbookingsystem.model.Seat;
 import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.repository.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
 import com.epam.campstone.eventbookingsystem.service.api.BookingService;
+import com.epam.campstone.eventbookingsystem.service.api.BookingSummaryService;
+import com.epam.campstone.eventbookingsystem.service.api.EventService;
+import com.epam.campstone.eventbookingsystem.service.api.HoldExpiryService;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
+import com.epam.campstone.eventbookingsystem.util.RetryPolicy;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,36 +49,69 @@ public class BookingServiceImpl implements BookingService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final SeatRepository seatRepository;
-    private final BookingStatusRepository bookingStatusRepository;
-    private final SeatStatusRepository seatStatusRepository;
+    private final ReferenceDataService referenceDataService;
+    private final SeatInventoryService seatInventoryService;
+    private final EventService eventService;
+    private final HoldExpiryService holdExpiryService;
+    private final BookingSummaryService bookingSummaryService;
+    private final Duration holdDuration;
+    private final RetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
                               EventRepository eventRepository,
                               UserRepository userRepository,
                               SeatRepository seatRepository,
-                              BookingStatusRepository bookingStatusRepository,
-                              SeatStatusRepository seatStatusRepository) {
+                              ReferenceDataService referenceDataService,
+                              SeatInventoryService seatInventoryService,
+                              EventService eventService,
+                              HoldExpiryService holdExpiryService,
+                              BookingSummaryService bookingSummaryService,
+                              @Value("${app.booking.hold-duration-minutes:15}") long holdDurationMinutes,
+                              RetryPolicy retryPolicy,
+                              TransactionTemplate transactionTemplate) {
         this.bookingRepository = bookingRepository;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.seatRepository = seatRepository;
-        this.bookingStatusRepository = bookingStatusRepository;
-        this.seatStatusRepository = seatStatusRepository;
+        this.referenceDataService = referenceDataService;
+        this.seatInventoryService = seatInventoryService;
+        this.eventService = eventService;
+        this.holdExpiryService = holdExpiryService;
+        this.bookingSummaryService = bookingSummaryService;
+        this.holdDuration = Duration.ofMinutes(holdDurationMinutes);
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * Runs each attempt in its own transaction, so a version conflict rolls back everything the
+     * attempt did and the retry starts from fresh state.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking createBooking(String userEmail, BookingDto bookingDto) {
+        return retryPolicy.execute(() -> transactionTemplate.execute(status -> doCreateBooking(userEmail, bookingDto)));
+    }
+
+    private Booking doCreateBooking(String userEmail, BookingDto bookingDto) {
+        // A replay of a request that was already processed, e.g. by another instance
+        if (bookingDto.getIdempotencyKey() != null) {
+            Optional<Booking> existing = bookingRepository.findByUserEmailAndIdempotencyKey(userEmail, bookingDto.getIdempotencyKey());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
 
         Event event = eventRepository.findById(bookingDto.getEventId())
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + bookingDto.getEventId()));
 
-        // Check if there are enough available spots
-        if (event.getAvailableAttendeesCapacity() < bookingDto.getSeats().size()) {
-            throw new IllegalStateException("Not enough available spots for this event");
-        }
+        // Take the spots atomically; fails if not enough capacity remains
+        eventService.decreaseAvailableSpots(event.getId(), bookingDto.getQuantity());
 
         // Create booking
         Booking booking = new Booking();
@@ -71,19 +119,43 @@ public class BookingServiceImpl implements BookingService {
         booking.setUser(user);
         booking.setEvent(event);
         booking.setCreatedAt(LocalDateTime.now().toInstant(ZoneOffset.UTC));
+        booking.setExpiresAt(Instant.now().plus(holdDuration));
         booking.setQuantity(bookingDto.getQuantity());
+        booking.setIdempotencyKey(bookingDto.getIdempotencyKey());
         booking.setPrice(event.getMinPrice().multiply(BigDecimal.valueOf(bookingDto.getQuantity())));
-        booking.setBookingStatus(bookingStatusRepository.findByName("TEMPORARY_HOLD").orElse(null));
+        booking.setBookingStatus(referenceDataService.bookingStatus("TEMPORARY_HOLD"));
         booking.setSeats(this.createSeats(bookingDto.getSeats()));
 
-        // todo: add seat logic
+        // Claim the selected seats in memory before touching the database
+        List<Long> seatIds = bookingDto.getSeats().stream()
+                .map(SeatDto::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!seatIds.isEmpty() && !seatInventoryService.reserve(event.getId(), seatIds)) {
+            throw new IllegalStateException("Some of the selected seats are no longer available");
+        }
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(booking);
+        } catch (RuntimeException e) {
+            if (!seatIds.isEmpty()) {
+                seatInventoryService.release(event.getId(), seatIds);
+            }
+            throw e;
+        }
 
-        // Update available spots
-        event.setAvailableAttendeesCapacity(event.getAvailableAttendeesCapacity() - bookingDto.getSeats().size());
+        Long bookingId = savedBooking.getId();
+        Instant expiresAt = savedBooking.getExpiresAt();
+        afterCommit(() -> holdExpiryService.track(bookingId, expiresAt));
+        bookingSummaryService.evict(user.getId());
 
-        eventRepository.save(event);
+        if (!seatIds.isEmpty()) {
+            Long eventId = event.getId();
+            onTransactionCompletion(
+                    () -> seatInventoryService.assign(eventId, seatIds, bookingId),
+                    () -> seatInventoryService.release(eventId, seatIds));
+        }
 
         return savedBooking;
     }
@@ -95,32 +167,51 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Booking> findByIdempotencyKey(String userEmail, String idempotencyKey) {
+        return bookingRepository.findByUserEmailAndIdempotencyKey(userEmail, idempotencyKey);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelBooking(Long bookingId, String userEmail) {
+        retryPolicy.execute(() -> transactionTemplate.execute(status -> {
+            doCancelBooking(bookingId, userEmail);
+            return null;
+        }));
+    }
+
+    private void doCancelBooking(Long bookingId, String userEmail) {
         Booking booking = bookingRepository.findByIdAndUserEmail(bookingId, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
+        // A retry may find the booking already cancelled or expired by a concurrent update
+        String currentStatus = booking.getBookingStatus().getName();
+        if ("CANCELLED".equals(currentStatus) || "EXPIRED".equals(currentStatus)) {
+            log.info("Booking with id: {} is already {}", bookingId, currentStatus.toLowerCase());
+            return;
+        }
+
         List<Long> seats = booking.getSeats().stream().map(Seat::getId).toList();
-        log.info("Booking with id: {} is already cancelled", bookingId);
         booking.setSeats(Collections.emptySet());
 
         // set status for seats available
-        this.seatRepository.updateSeatsStatus(seats, seatStatusRepository.findByName("AVAILABLE").orElseThrow(() -> new IllegalArgumentException("Seat status not found")));
+        this.seatRepository.updateSeatsStatus(seats, referenceDataService.seatStatus("AVAILABLE"));
 
         // Update booking status
-        booking.setBookingStatus(bookingStatusRepository.findByName("CANCELLED").orElseThrow(() -> new IllegalArgumentException("Booking status not found")));
+        booking.setBookingStatus(referenceDataService.bookingStatus("CANCELLED"));
         bookingRepository.save(booking);
 
         // Return tickets to available capacity
-        Event event = booking.getEvent();
-        event.setAvailableAttendeesCapacity(
-                event.getAvailableAttendeesCapacity() + seats.size());
-
-        eventRepository.save(event);
+        Long eventId = booking.getEvent().getId();
+        eventService.increaseAvailableSpots(eventId, booking.getQuantity());
+        afterCommit(() -> seatInventoryService.releaseBooking(eventId, bookingId));
+        bookingSummaryService.evict(booking.getUser().getId());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Booking> findUserBookings(String userEmail) {
+    public List<BookingSummaryView> findUserBookings(String userEmail) {
         return bookingRepository.findByUserEmailOrderByBookingDateDesc(userEmail);
     }
 
@@ -132,10 +223,37 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> findUserBookingsByStatus(String username, BookingStatus bookingStatus) {
+    @Transactional(readOnly = true)
+    public List<BookingSummaryView> findUserBookingsByStatus(String username, BookingStatus bookingStatus) {
         return this.bookingRepository.findByUserFilteredByStatus(username, bookingStatus.name());
     }
 
+    private void afterCommit(Runnable onCommit) {
+        onTransactionCompletion(onCommit, () -> {
+        });
+    }
+
+    /**
+     * Run one of the callbacks once the current transaction completes, or the commit callback
+     * immediately when no transaction is active.
+     */
+    private void onTransactionCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
     private Set<Seat> createSeats(@NotNull(message = "Seats are required") List<SeatDto> seats) {
         return seats.stream()
                 .map(seatDto -> {
@@ -0,0 +1,104 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.dto.BookingStatus;
+import com.epam.campstone.eventbookingsystem.dto.UserBookingsDto;
+import com.epam.campstone.eventbookingsystem.repository.BookingRepository;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingStatusPageView;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
+import com.epam.campstone.eventbookingsystem.service.api.BookingSummaryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class BookingSummaryServiceImpl implements BookingSummaryService {
+
+    private static final List<String> STATUSES = List.of(BookingStatus.TEMPORARY_HOLD.name(), BookingStatus.PURCHASED.name());
+
+    private final BookingRepository bookingRepository;
+    private final int pageSize;
+    private final int maxCachedPages;
+
+    /**
+     * Pages by user. Evicting a user drops the whole page map, so a load that started before
+     * the eviction stores its result in a map that is no longer reachable.
+     */
+    private final Cache<Long, Map<Integer, UserBookingsDto>> pages;
+
+    public BookingSummaryServiceImpl(BookingRepository bookingRepository,
+                                     @Value("${app.booking.summary.page-size:20}") int pageSize,
+                                     @Value("${app.booking.summary.max-cached-pages:5}") int maxCachedPages,
+                                     @Value("${app.booking.summary.max-users:10000}") long maxUsers,
+                                     @Value("${app.booking.summary.ttl-seconds:300}") long ttlSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public UserBookingsDto findUserBookings(Long userId, int page) {
+        int pageNumber = Math.max(page, 0);
+        if (pageNumber >= maxCachedPages) {
+            // Deep pages are rare, keep them out of the cache
+            return load(userId, pageNumber);
+        }
+        Map<Integer, UserBookingsDto> userPages = pages.get(userId, id -> new ConcurrentHashMap<>());
+        UserBookingsDto cached = userPages.get(pageNumber);
+        if (cached != null) {
+            return cached;
+        }
+        // Not computeIfAbsent: the query would run under the map's bin lock and pin a virtual thread
+        UserBookingsDto loaded = load(userId, pageNumber);
+        UserBookingsDto raced = userPages.putIfAbsent(pageNumber, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        pages.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pages.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private UserBookingsDto load(Long userId, int page) {
+        List<BookingStatusPageView> rows = bookingRepository.findStatusPages(userId, STATUSES,
+                Math.multiplyExact(page, pageSize), pageSize);
+
+        List<BookingSummaryView> holds = new ArrayList<>();
+        List<BookingSummaryView> purchased = new ArrayList<>();
+        long holdsTotal = 0;
+        long purchasedTotal = 0;
+        for (BookingStatusPageView row : rows) {
+            boolean hold = BookingStatus.TEMPORARY_HOLD.name().equals(row.getStatusName());
+            if (hold) {
+                holdsTotal = row.getStatusTotal();
+            } else {
+                purchasedTotal = row.getStatusTotal();
+            }
+            // A status without bookings on this page only reports its total
+            if (row.getId() != null) {
+                (hold ? holds : purchased).add(row);
+            }
+        }
+        return new UserBookingsDto(List.copyOf(holds), holdsTotal, List.copyOf(purchased), purchasedTotal, page, pageSize);
+    }
+}
@@ -0,0 +1,150 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.exception.ResourceNotFoundException;
+import com.epam.campstone.eventbookingsystem.repository.EventCapacityRepository;
+import com.epam.campstone.eventbookingsystem.repository.EventCapacityShardRepository;
+import com.epam.campstone.eventbookingsystem.service.api.CapacityShardService;
+import com.epam.campstone.eventbookingsystem.service.api.EventCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@Transactional
+public class CapacityShardServiceImpl implements CapacityShardService {
+
+    private final EventCapacityShardRepository shardRepository;
+    private final EventCapacityRepository eventCapacityRepository;
+    private final EventCacheService eventCacheService;
+    private final int maxShards;
+
+    /**
+     * Shard count per event ID, so the booking path does not read the event row to pick a strategy.
+     */
+    private final ConcurrentMap<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    public CapacityShardServiceImpl(EventCapacityShardRepository shardRepository,
+                                    EventCapacityRepository eventCapacityRepository,
+                                    EventCacheService eventCacheService,
+                                    @Value("${app.capacity.max-shards:64}") int maxShards) {
+        this.shardRepository = shardRepository;
+        this.eventCapacityRepository = eventCapacityRepository;
+        this.eventCacheService = eventCacheService;
+        this.maxShards = maxShards;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isSharded(Long eventId) {
+        return shardCount(eventId) > 0;
+    }
+
+    @Override
+    public void setShardCount(Long eventId, int shards) {
+        if (shards < 0 || shards > maxShards) {
+            throw new IllegalArgumentException("Shard count must be between 0 and " + maxShards);
+        }
+        shardCounts.remove(eventId);
+        if (eventCapacityRepository.findCapacityShards(eventId).orElse(0) > 0) {
+            shardRepository.removeShards(eventId);
+        }
+        if (shards > 0 && shardRepository.createShards(eventId, shards) == 0) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        eventCacheService.evictEvent(eventId);
+        log.info("Capacity of event {} is now split into {} shards", eventId, shards);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = IllegalStateException.class)
+    public boolean take(Long eventId, int count) {
+        int shards = shardCount(eventId);
+        if (shards == 0) {
+            return false;
+        }
+
+        // Fast path: claim everything from one shard, starting at a random one
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.decrementShard(eventId, (start + i) % shards, count).isPresent()) {
+                return true;
+            }
+        }
+
+        // No single shard holds enough; lock all of them and drain greedily
+        Map<Integer, Integer> available = shardRepository.lockShards(eventId);
+        if (available.isEmpty()) {
+            shardCounts.remove(eventId);
+            return false;
+        }
+        int total = available.values().stream().mapToInt(Integer::intValue).sum();
+        if (total < count) {
+            throw new IllegalStateException("Not enough available spots");
+        }
+
+        Map<Integer, Integer> drained = new LinkedHashMap<>();
+        int remaining = count;
+        for (Map.Entry<Integer, Integer> shard : available.entrySet()) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(shard.getValue(), remaining);
+            if (taken > 0) {
+                drained.put(shard.getKey(), shard.getValue() - taken);
+                remaining -= taken;
+            }
+        }
+        shardRepository.updateShards(eventId, drained);
+        return true;
+    }
+
+    @Override
+    public boolean give(Long eventId, int count) {
+        int shards = shardCount(eventId);
+        if (shards == 0) {
+            return false;
+        }
+        int shardNo = ThreadLocalRandom.current().nextInt(shards);
+        if (shardRepository.incrementShard(eventId, shardNo, count).isPresent()) {
+            return true;
+        }
+        shardCounts.remove(eventId);
+        return false;
+    }
+
+    @Override
+    public void evict(Long eventId) {
+        shardCounts.remove(eventId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.capacity.shard-fold-interval-ms:1000}")
+    public void fold() {
+        List<Long> folded = shardRepository.foldAll();
+        if (!folded.isEmpty()) {
+            eventCacheService.evictEvents(folded);
+            log.debug("Folded capacity shards of {} events", folded.size());
+        }
+    }
+
+    private int shardCount(Long eventId) {
+        Integer shards = shardCounts.get(eventId);
+        if (shards != null) {
+            return shards;
+        }
+        // Load outside computeIfAbsent: its bin lock would pin a virtual thread for the whole query
+        int loaded = eventCapacityRepository.findCapacityShards(eventId).orElse(0);
+        shards = shardCounts.putIfAbsent(eventId, loaded);
+        return shards != null ? shards : loaded;
+    }
+}
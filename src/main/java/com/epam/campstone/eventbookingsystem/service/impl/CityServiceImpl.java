@@ -4,7 +4,9 @@ import com.epam.campstone.eventbookingsystem.model.City;
 import com.epam.campstone.eventbookingsystem.model.Country;
 import com.epam.campstone.eventbookingsystem.repository.CityRepository;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,34 +16,47 @@ import java.util.stream.Collectors;
 public class CityServiceImpl implements CityService {
 
     private final CityRepository cityRepository;
+    private final ReferenceDataService referenceDataService;
 
-    public CityServiceImpl(CityRepository cityRepository) {
+    public CityServiceImpl(CityRepository cityRepository,
+                           ReferenceDataService referenceDataService) {
         this.cityRepository = cityRepository;
+        this.referenceDataService = referenceDataService;
     }
 
     @Override
     public Optional<City> findById(Integer id) {
-        return this.cityRepository.findById(id);
+        return this.referenceDataService.findCity(id);
     }
 
     @Override
     public List<City> findByCountry(Country country) {
-        return this.cityRepository.findByCountry(country);
+        return this.referenceDataService.citiesOf(country.getId());
     }
 
     @Override
+    public List<City> findByCountryId(Integer countryId) {
+        return this.referenceDataService.citiesOf(countryId);
+    }
+
+    @Override
+    @Transactional
     public City save(City city) {
-        return this.cityRepository.save(city);
+        City saved = this.cityRepository.save(city);
+        this.referenceDataService.refresh();
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteById(Integer id) {
         this.cityRepository.deleteById(id);
+        this.referenceDataService.refresh();
     }
 
     @Override
     public List<String> findAll() {
-        return this.cityRepository.findAll()
+        return this.referenceDataService.cities()
                 .stream().map(City::getName)
                 .collect(Collectors.toList());
     }
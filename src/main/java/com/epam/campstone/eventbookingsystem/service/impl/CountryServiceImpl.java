@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.service.impl;
 import com.epam.campstone.eventbookingsystem.model.Country;
 import com.epam.campstone.eventbookingsystem.repository.CountryRepository;
 import com.epam.campstone.eventbookingsystem.service.api.CountryService;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,24 +15,27 @@ import java.util.Optional;
 public class CountryServiceImpl implements CountryService {
 
     private final CountryRepository countryRepository;
+    private final ReferenceDataService referenceDataService;
 
-    public CountryServiceImpl(CountryRepository countryRepository) {
+    public CountryServiceImpl(CountryRepository countryRepository,
+                              ReferenceDataService referenceDataService) {
         this.countryRepository = countryRepository;
+        this.referenceDataService = referenceDataService;
     }
 
     @Override
     public Optional<Country> findById(Integer id) {
-        return countryRepository.findById(id);
+        return referenceDataService.findCountry(id);
     }
 
     @Override
     public Optional<Country> findByName(String name) {
-        return countryRepository.findByName(name);
+        return referenceDataService.findCountry(name);
     }
 
     @Override
     public List<Country> findAll() {
-        return countryRepository.findAllByOrderByNameAsc();
+        return referenceDataService.countries();
     }
 
     @Override
@@ -40,7 +44,9 @@ public class CountryServiceImpl implements CountryService {
         if (country == null) {
             throw new IllegalArgumentException("Country cannot be null");
         }
-        return countryRepository.save(country);
+        Country saved = countryRepository.save(country);
+        referenceDataService.refresh();
+        return saved;
     }
 
     @Override
@@ -50,11 +56,13 @@ public class CountryServiceImpl implements CountryService {
             throw new IllegalArgumentException("Country ID cannot be null");
         }
         countryRepository.deleteById(id);
+        // Cities of the country are deleted with it
+        referenceDataService.refresh();
     }
 
     @Override
     public boolean existsById(Integer id) {
-        return id != null && countryRepository.existsById(id);
+        return referenceDataService.findCountry(id).isPresent();
     }
 
 }
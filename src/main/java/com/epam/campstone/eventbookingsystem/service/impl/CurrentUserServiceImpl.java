@@ -0,0 +1,81 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.repository.UserRepository;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Service
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserServiceImpl.class.getName() + ".principal";
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public CurrentUserServiceImpl(UserRepository userRepository,
+                                  @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AuthenticatedUser current
+                && current.getEmail().equals(email)) {
+            return Optional.of(current);
+        }
+
+        AuthenticatedUser user = principals.getIfPresent(email);
+        if (user == null) {
+            user = userRepository.findPrincipalByEmail(email).orElse(null);
+            if (user == null) {
+                return Optional.empty();
+            }
+            principals.put(email, user);
+        }
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(user);
+    }
+
+    @Override
+    public void cache(AuthenticatedUser user) {
+        principals.put(user.getEmail(), user);
+    }
+
+    @Override
+    public void evict(String email) {
+        principals.invalidate(email);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+        // A request that read the old row before commit must not keep it cached
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        }
+    }
+}
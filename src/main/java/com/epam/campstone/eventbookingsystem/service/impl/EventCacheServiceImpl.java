@@ -0,0 +1,54 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.config.HibernateCacheConfig;
+import com.epam.campstone.eventbookingsystem.model.Event;
+import com.epam.campstone.eventbookingsystem.service.api.EventCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class EventCacheServiceImpl implements EventCacheService {
+
+    private final SessionFactory sessionFactory;
+
+    public EventCacheServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public void evictEvent(Long eventId) {
+        evictEvents(List.of(eventId));
+    }
+
+    @Override
+    public void evictEvents(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(eventIds);
+        runNowAndAfterCommit(() -> ids.forEach(id -> sessionFactory.getCache().evictEntityData(Event.class, id)));
+    }
+
+    @Override
+    public void evictUpcomingEvents() {
+        runNowAndAfterCommit(() -> sessionFactory.getCache().evictQueryRegion(HibernateCacheConfig.UPCOMING_EVENTS_REGION));
+    }
+
+    private static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
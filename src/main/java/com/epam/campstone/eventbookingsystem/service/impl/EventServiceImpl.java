@@ -1,50 +1,72 @@
 package com.epam.campstone.eventbookingsystem.service.impl;
 
 import com.epam.campstone.eventbookingsystem.dto.CategoryOptionDto;
+import com.epam.campstone.eventbookingsystem.dto.CursorPageDto;
+import com.epam.campstone.eventbookingsystem.dto.EventCursor;
 import com.epam.campstone.eventbookingsystem.dto.EventDto;
 import com.epam.campstone.eventbookingsystem.dto.EventSearchDto;
 import com.epam.campstone.eventbookingsystem.exception.ResourceNotFoundException;
 import com.epam.campstone.eventbookingsystem.model.*;
 import com.epam.campstone.eventbookingsystem.repository.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import com.epam.campstone.eventbookingsystem.service.api.CapacityShardService;
+import com.epam.campstone.eventbookingsystem.service.api.EventCacheService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import org.springframework.data.domain.Page;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
-    private final CityRepository cityRepository;
+    private final EventSearchRepository eventSearchRepository;
     private final VenueRepository venueRepository;
-    private final EventTypeRepository eventTypeRepository;
     private final UserRepository userRepository;
-    private final EventStatusRepository eventStatusRepository;
+    private final ReferenceDataService referenceDataService;
+    private final EventCapacityRepository eventCapacityRepository;
+    private final CapacityShardService capacityShardService;
+    private final EventCacheService eventCacheService;
 
     public EventServiceImpl(EventRepository eventRepository,
-                            CityRepository cityRepository,
+                            EventSearchRepository eventSearchRepository,
                             VenueRepository venueRepository,
-                            EventTypeRepository eventTypeRepository,
                             UserRepository userRepository,
-                            EventStatusRepository eventStatusRepository) {
+                            ReferenceDataService referenceDataService,
+                            EventCapacityRepository eventCapacityRepository,
+                            CapacityShardService capacityShardService,
+                            EventCacheService eventCacheService) {
         this.venueRepository = venueRepository;
-        this.cityRepository = cityRepository;
         this.eventRepository = eventRepository;
-        this.eventTypeRepository = eventTypeRepository;
+        this.eventSearchRepository = eventSearchRepository;
         this.userRepository = userRepository;
-        this.eventStatusRepository = eventStatusRepository;
+        this.referenceDataService = referenceDataService;
+        this.eventCapacityRepository = eventCapacityRepository;
+        this.capacityShardService = capacityShardService;
+        this.eventCacheService = eventCacheService;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Event> findEvents(Pageable pageable) {
-        return eventRepository.findAll(pageable);
+    public CursorPageDto<EventCardView> findEvents(String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<EventCardView> events = parseCursor(cursor)
+                .map(after -> eventRepository.findEventsAfter(after.getEventDate(), after.getStartTime(), after.getId(), limit))
+                .orElseGet(() -> eventRepository.findFirstEvents(limit));
+        return toPage(events, size, eventRepository.estimateEventCount());
     }
 
     @Override
@@ -53,6 +75,12 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Event> findWithDetailsById(Long id) {
+        return eventRepository.findWithDetailsById(id);
+    }
+
     @Override
     public void createEvent(EventDto eventDto) {
         Event event = new Event();
@@ -60,6 +88,7 @@ public class EventServiceImpl implements EventService {
         this.venueRepository.save(event.getVenue());
 
         eventRepository.save(event);
+        eventCacheService.evictUpcomingEvents();
     }
 
     @Override
@@ -69,6 +98,8 @@ public class EventServiceImpl implements EventService {
 
         mapDtoToEntity(eventDto, event);
         eventRepository.save(event);
+        eventCacheService.evictEvent(id);
+        eventCacheService.evictUpcomingEvents();
     }
 
     @Override
@@ -82,54 +113,162 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public void decreaseAvailableSpots(Long eventId, int count) {
-        Event event = eventRepository.findById(eventId)
+        if (capacityShardService.take(eventId, count)) {
+            return;
+        }
+        Optional<Integer> availableSpots = eventCapacityRepository.decrementAvailableCapacity(eventId, count);
+        if (availableSpots.isPresent()) {
+            log.debug("Event {} has {} available spots left", eventId, availableSpots.get());
+            eventCacheService.evictEvent(eventId);
+            return;
+        }
+        int shards = eventCapacityRepository.findCapacityShards(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
-
-        if (event.getAvailableAttendeesCapacity() < count) {
+        // Sharding was switched on after the shard count was cached
+        capacityShardService.evict(eventId);
+        if (shards == 0 || !capacityShardService.take(eventId, count)) {
             throw new IllegalStateException("Not enough available spots");
         }
-        Integer availableSpots = Math.max((event.getAvailableAttendeesCapacity() - count), 0);
-        event.setAvailableAttendeesCapacity(availableSpots);
-        eventRepository.save(event);
     }
 
     @Override
     @Transactional
     public void increaseAvailableSpots(Long eventId, int count) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        if (capacityShardService.give(eventId, count)) {
+            return;
+        }
+        Optional<Integer> availableSpots = eventCapacityRepository.incrementAvailableCapacity(eventId, count);
+        if (availableSpots.isPresent()) {
+            log.debug("Event {} has {} available spots left", eventId, availableSpots.get());
+            eventCacheService.evictEvent(eventId);
+            return;
+        }
+        capacityShardService.evict(eventId);
+        if (!capacityShardService.give(eventId, count)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+    }
 
-        event.setAvailableAttendeesCapacity(event.getAvailableAttendeesCapacity() + count);
-        eventRepository.save(event);
+    @Override
+    @Transactional
+    public Map<Long, Integer> adjustAvailableSpots(Map<Long, Integer> deltas) {
+        Map<Long, Integer> unsharded = new LinkedHashMap<>();
+        deltas.forEach((eventId, delta) -> {
+            if (capacityShardService.isSharded(eventId)) {
+                adjustShardedSpots(eventId, delta);
+            } else {
+                unsharded.put(eventId, delta);
+            }
+        });
+
+        Map<Long, Integer> availableSpots = eventCapacityRepository.applyCapacityDeltas(unsharded);
+        eventCacheService.evictEvents(availableSpots.keySet());
+        if (availableSpots.size() < unsharded.size()) {
+            log.warn("Capacity change skipped for events {}", unsharded.keySet().stream()
+                    .filter(eventId -> !availableSpots.containsKey(eventId))
+                    .toList());
+        }
+        return availableSpots;
+    }
+
+    @Override
+    public void setCapacityShards(Long eventId, int shards) {
+        capacityShardService.setShardCount(eventId, shards);
     }
 
     @Override
     public List<CategoryOptionDto> getCategoryOptions() {
-        return eventTypeRepository.findAll().stream()
+        return referenceDataService.eventTypes().stream()
                 .map(eventType -> new CategoryOptionDto(eventType.getId(), eventType.getName(), eventType.getDisplayName()))
                 .toList();
     }
 
     @Override
-    public Page<Event> searchEvents(EventSearchDto searchParams, Pageable pageable) {
-//        return eventRepository.searchEvents(searchParams.getQuery(), pageable);
-        LocalDate startDate = searchParams.getDate();
-        String eventType = searchParams.getCategory();
-        String city = searchParams.getCity();
-
-        return eventRepository.searchEvents(startDate, eventType, city, pageable);
+    @Transactional(readOnly = true)
+    public CursorPageDto<EventCardView> searchEvents(EventSearchDto searchParams, String cursor, int size, boolean withTotal) {
+        Optional<EventSearchRepository.Criteria> criteria = toCriteria(searchParams);
+        if (criteria.isEmpty()) {
+            // A city or category that does not exist matches nothing
+            return new CursorPageDto<>(List.of(), null, withTotal ? 0L : null);
+        }
+        List<Long> ids = eventSearchRepository.findIds(criteria.get(), parseCursor(cursor).orElse(null), size + 1);
+        Map<Long, EventCardView> eventsById = eventRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventCardView::getId, Function.identity()));
+        List<EventCardView> events = ids.stream().map(eventsById::get).filter(Objects::nonNull).toList();
+        Long total = withTotal ? eventSearchRepository.count(criteria.get()) : null;
+        return toPage(events, size, total);
     }
 
     @Override
-    public List<Event> getFeaturedEvents(int i) {
+    @Transactional(readOnly = true)
+    public List<EventCardView> getFeaturedEvents(int i) {
         return this.eventRepository.findUpcomingEvents(Pageable.ofSize(i));
     }
 
     @Override
-    public List<Event> getFeaturedEventsByUser(int i, Long userId) {
+    @Transactional(readOnly = true)
+    public List<EventCardView> getFeaturedEventsByUser(int i, Long userId) {
         return this.eventRepository.findUpcomingEvents(Pageable.ofSize(i), userId);
     }
 
+    private Optional<EventSearchRepository.Criteria> toCriteria(EventSearchDto searchParams) {
+        Integer cityId = searchParams.getCityId();
+        if (cityId == null && searchParams.getCity() != null && !searchParams.getCity().isBlank()) {
+            Optional<City> city = referenceDataService.findCity(searchParams.getCity());
+            if (city.isEmpty()) {
+                return Optional.empty();
+            }
+            cityId = city.get().getId();
+        }
+        Long typeId = searchParams.getTypeId();
+        if (typeId == null && searchParams.getCategory() != null && !searchParams.getCategory().isBlank()) {
+            Optional<EventType> type = referenceDataService.eventTypes().stream()
+                    .filter(eventType -> eventType.getName().equals(searchParams.getCategory()))
+                    .findFirst();
+            if (type.isEmpty()) {
+                return Optional.empty();
+            }
+            typeId = type.get().getId();
+        }
+        return Optional.of(new EventSearchRepository.Criteria(searchParams.getDate(), searchParams.getDateTo(),
+                cityId, typeId, searchParams.getMinPrice(), searchParams.getMaxPrice(), searchParams.getQuery()));
+    }
+
+    private Optional<EventCursor> parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(EventCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid event cursor {}", cursor);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * One extra event is fetched to tell whether there is a next page without counting.
+     */
+    private CursorPageDto<EventCardView> toPage(List<EventCardView> events, int size, Long total) {
+        if (events.size() <= size) {
+            return new CursorPageDto<>(events, null, total);
+        }
+        List<EventCardView> content = events.subList(0, size);
+        return new CursorPageDto<>(content, EventCursor.of(content.get(size - 1)).encode(), total);
+    }
+
+    private void adjustShardedSpots(Long eventId, int delta) {
+        try {
+            if (delta < 0) {
+                capacityShardService.take(eventId, -delta);
+            } else if (delta > 0) {
+                capacityShardService.give(eventId, delta);
+            }
+        } catch (IllegalStateException e) {
+            log.warn("Capacity change skipped for sharded event {}: {}", eventId, e.getMessage());
+        }
+    }
+
     private void mapDtoToEntity(EventDto dto, Event entity) {
         entity.setTitle(dto.getTitle());
         entity.setDescription(dto.getDescription());
@@ -137,14 +276,14 @@ public class EventServiceImpl implements EventService {
         entity.setStartTime(dto.getEventDate().toLocalTime());
         entity.setMinPrice(dto.getPrice());
 
-        EventType eventType = this.eventTypeRepository.findById(dto.getCategory())
+        EventType eventType = this.referenceDataService.findEventType(dto.getCategory())
                 .orElseThrow(() -> new ResourceNotFoundException("Event type not found with name: " + dto.getCategory()));
         entity.setType(eventType);
 
         Venue venue = new Venue();
         venue.setName(dto.getVenue().getName());
         venue.setAddress(dto.getVenue().getAddress());
-        City city = cityRepository.findById(dto.getVenue().getCityId())
+        City city = referenceDataService.findCity(dto.getVenue().getCityId())
                 .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + dto.getVenue().getCityId()));
 
         venue.setCity(city);
@@ -158,7 +297,7 @@ public class EventServiceImpl implements EventService {
 
         // todo implement status logic for events
         // for now set status to PLANNED always
-        entity.setStatus(this.eventStatusRepository.findByName("PLANNED").orElseThrow(() -> new ResourceNotFoundException("Status not found with name: PLANNED")));
+        entity.setStatus(this.referenceDataService.eventStatus("PLANNED"));
     }
 
 }
@@ -0,0 +1,173 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.model.Booking;
+import com.epam.campstone.eventbookingsystem.model.BookingStatus;
+import com.epam.campstone.eventbookingsystem.model.SeatStatus;
+import com.epam.campstone.eventbookingsystem.repository.BookingRepository;
+import com.epam.campstone.eventbookingsystem.repository.EventSeatRepository;
+import com.epam.campstone.eventbookingsystem.repository.projection.HoldExpiryView;
+import com.epam.campstone.eventbookingsystem.service.api.BookingSummaryService;
+import com.epam.campstone.eventbookingsystem.service.api.EventService;
+import com.epam.campstone.eventbookingsystem.service.api.HoldExpiryService;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatClaimLostEvent;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
+import com.epam.campstone.eventbookingsystem.util.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+@Slf4j
+@Service
+public class HoldExpiryServiceImpl implements HoldExpiryService {
+
+    private static final String TEMPORARY_HOLD = "TEMPORARY_HOLD";
+    private static final String EXPIRED = "EXPIRED";
+    private static final String RESERVED = "RESERVED";
+    private static final String AVAILABLE = "AVAILABLE";
+
+    private final BookingRepository bookingRepository;
+    private final EventSeatRepository eventSeatRepository;
+    private final ReferenceDataService referenceDataService;
+    private final EventService eventService;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingSummaryService bookingSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retryDelayMillis;
+
+    private final TimingWheel<Long> wheel;
+
+    public HoldExpiryServiceImpl(BookingRepository bookingRepository,
+                                 EventSeatRepository eventSeatRepository,
+                                 ReferenceDataService referenceDataService,
+                                 EventService eventService,
+                                 SeatInventoryService seatInventoryService,
+                                 BookingSummaryService bookingSummaryService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.booking.hold-expiry.tick-ms:1000}") long tickMillis,
+                                 @Value("${app.booking.hold-expiry.wheel-size:512}") int wheelSize,
+                                 @Value("${app.booking.hold-expiry.batch-size:500}") int batchSize,
+                                 @Value("${app.booking.hold-expiry.retry-delay-ms:5000}") long retryDelayMillis) {
+        this.bookingRepository = bookingRepository;
+        this.eventSeatRepository = eventSeatRepository;
+        this.referenceDataService = referenceDataService;
+        this.eventService = eventService;
+        this.seatInventoryService = seatInventoryService;
+        this.bookingSummaryService = bookingSummaryService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retryDelayMillis = retryDelayMillis;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Seed the wheel with the holds that were pending when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        List<HoldExpiryView> holds = bookingRepository.findHoldExpiries(bookingStatus(TEMPORARY_HOLD));
+        holds.forEach(hold -> track(hold.getBookingId(), hold.getExpiresAt()));
+        log.info("Tracking {} pending temporary holds", holds.size());
+    }
+
+    @Override
+    public void track(Long bookingId, Instant expiresAt) {
+        wheel.schedule(bookingId, expiresAt.toEpochMilli());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.booking.hold-expiry.tick-ms:1000}")
+    public int expireDueHolds() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expired += expireBatch(batch, true);
+            } catch (RuntimeException e) {
+                // The wheel has already dropped these holds, so any failure must put them back
+                log.error("Failed to expire {} temporary holds, will retry: {}", batch.size(), e.getMessage(), e);
+                long retryAt = System.currentTimeMillis() + retryDelayMillis;
+                batch.forEach(bookingId -> wheel.schedule(bookingId, retryAt));
+            }
+        }
+        log.debug("Expired {} of {} due temporary holds", expired, due.size());
+        return expired;
+    }
+
+    /**
+     * Expire a hold right away when another node sold one of its seats first, so the customer cannot
+     * confirm a booking for a seat that is not theirs. Its other seats and its spots are returned.
+     * A booking that is no longer a hold is left for manual repair.
+     */
+    @EventListener
+    public void onSeatClaimLost(SeatClaimLostEvent event) {
+        try {
+            if (expireBatch(List.of(event.bookingId()), false) == 1) {
+                log.warn("Expired booking {} of event {}: seats {} were sold by another node",
+                        event.bookingId(), event.eventId(), event.seatIds());
+            } else {
+                log.error("Booking {} of event {} holds seats {} sold by another node but is no longer a temporary hold; " +
+                        "it needs manual repair", event.bookingId(), event.eventId(), event.seatIds());
+            }
+        } catch (RuntimeException e) {
+            // The hold still runs out at its own expiry time
+            log.error("Failed to expire booking {} that lost seats {}: {}",
+                    event.bookingId(), event.seatIds(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Expire holds in one transaction.
+     *
+     * @param bookingIds the bookings to expire
+     * @param dueOnly    true to skip holds whose expiry time has not passed yet
+     */
+    private int expireBatch(List<Long> bookingIds, boolean dueOnly) {
+        List<Booking> expired = transactionTemplate.execute(status -> {
+            BookingStatus hold = bookingStatus(TEMPORARY_HOLD);
+            // Holds confirmed or cancelled since they were tracked are filtered out here
+            List<Booking> bookings = dueOnly
+                    ? bookingRepository.lockDueHolds(bookingIds, hold, Instant.now())
+                    : bookingRepository.lockHolds(bookingIds, hold);
+            if (bookings.isEmpty()) {
+                return bookings;
+            }
+
+            bookingRepository.expireTemporaryHolds(bookings.stream().map(Booking::getId).toList(),
+                    hold, bookingStatus(EXPIRED));
+            eventSeatRepository.releaseReservedSeats(bookings, seatStatus(RESERVED), seatStatus(AVAILABLE));
+
+            Map<Long, Integer> returnedSpots = new HashMap<>();
+            bookings.forEach(booking -> returnedSpots.merge(booking.getEvent().getId(), booking.getQuantity(), Integer::sum));
+            eventService.adjustAvailableSpots(returnedSpots);
+            return bookings;
+        });
+
+        Objects.requireNonNull(expired).forEach(booking ->
+                seatInventoryService.releaseBooking(booking.getEvent().getId(), booking.getId()));
+        // The user proxies are not initialized to read their IDs
+        expired.stream().map(booking -> booking.getUser().getId()).distinct().forEach(bookingSummaryService::evict);
+        return expired.size();
+    }
+
+    private BookingStatus bookingStatus(String name) {
+        return referenceDataService.bookingStatus(name);
+    }
+
+    private SeatStatus seatStatus(String name) {
+        return referenceDataService.seatStatus(name);
+    }
+}
@@ -0,0 +1,180 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.service.api.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitMillis;
+
+    /**
+     * Entries in insertion order, so the oldest is evicted first when the cache is full.
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public IdempotencyServiceImpl(@Value("${app.idempotency.max-entries:100000}") int maxEntries,
+                                  @Value("${app.idempotency.ttl-minutes:30}") long ttlMinutes,
+                                  @Value("${app.idempotency.wait-ms:10000}") long waitMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    public <T> Optional<T> findResult(String scope, String owner, String key, Class<T> type) {
+        if (key == null || key.isBlank()) {
+            return Optional.empty();
+        }
+        Entry entry = get(cacheKey(scope, owner, key), System.nanoTime());
+        if (entry == null || !entry.result.isDone() || entry.result.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.result.join()).map(type::cast);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String owner, String key, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String cacheKey = cacheKey(scope, owner, key);
+        long now = System.nanoTime();
+        Entry entry;
+        boolean first;
+        lock.lock();
+        try {
+            entry = get(cacheKey, now);
+            first = entry == null;
+            if (first) {
+                entry = new Entry(now + ttlNanos);
+                entries.put(cacheKey, entry);
+                evictOverflow(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!first) {
+            log.debug("Replayed {} request with key {} of {}", scope, key, owner);
+            return (T) await(entry);
+        }
+
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Forget the failure so the client can retry with the same key; an Error must not
+            // leave replays waiting on a result that never comes
+            remove(cacheKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired entries.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("The original request is still being processed, please try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private Entry get(String cacheKey, long now) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(cacheKey);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String cacheKey, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(cacheKey, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict the oldest entries once the cache is over its bound. Must hold the lock.
+     */
+    private void evictOverflow(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Entry oldest = iterator.next();
+            if (!oldest.result.isDone() && !oldest.isExpired(now)) {
+                // Still running; evicting it would let a replay run the action again
+                continue;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static String cacheKey(String scope, String owner, String key) {
+        return scope + '\u0000' + owner + '\u0000' + key;
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final long expiresAtNanos;
+
+        private Entry(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAtNanos - now < 0;
+        }
+    }
+}
@@ -2,10 +2,9 @@ package com.epam.campstone.eventbookingsystem.service.impl;
 
 import com.epam.campstone.eventbookingsystem.dto.JwtResponseDto;
 import com.epam.campstone.eventbookingsystem.dto.LoginRequestDto;
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.AuthenticationException;
 import com.epam.campstone.eventbookingsystem.exception.UserNotActiveException;
-import com.epam.campstone.eventbookingsystem.model.RefreshToken;
-import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.security.UserDetailsImpl;
 import com.epam.campstone.eventbookingsystem.security.jwt.JwtUtils;
 import com.epam.campstone.eventbookingsystem.service.api.LoginService;
@@ -19,10 +18,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.ui.Model;
 
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -74,21 +71,23 @@ public class LoginServiceImpl implements LoginService {
 
         // Generate refresh token
         log.info("Generating refresh token for user: {}", userDetails.getUsername());
-        String randomToken = UUID.randomUUID().toString();
+        String refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
         // Return JWT response
         return new JwtResponseDto(
                 jwt,
-                randomToken,
+                refreshToken,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 roles);
     }
 
+    @Override
+    public TokenRefreshResponse refreshToken(String refreshToken) {
+        return refreshTokenService.rotate(refreshToken);
+    }
+
     @Override
     public void logoutUser(String refreshToken) {
-        this.refreshTokenService.findByToken(refreshToken)
-                .map(RefreshToken::getUser)
-                .map(User::getId)
-                .ifPresent(refreshTokenService::deleteByUserId);
+        this.refreshTokenService.revoke(refreshToken);
     }
 }
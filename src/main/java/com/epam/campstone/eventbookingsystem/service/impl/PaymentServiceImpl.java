@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.service.impl;
 import com.epam.campstone.eventbookingsystem.dto.PaymentRequestDto;
 import com.epam.campstone.eventbookingsystem.dto.PaymentResponseDto;
 import com.epam.campstone.eventbookingsystem.repository.BookingRepository;
+import com.epam.campstone.eventbookingsystem.service.api.BookingSummaryService;
 import com.epam.campstone.eventbookingsystem.service.api.PaymentService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,10 +17,13 @@ import java.util.UUID;
 public class PaymentServiceImpl implements PaymentService {
 
     private final BookingRepository bookingRepository;
+    private final BookingSummaryService bookingSummaryService;
     private final Random random = new Random();
 
-    public PaymentServiceImpl(BookingRepository bookingRepository) {
+    public PaymentServiceImpl(BookingRepository bookingRepository,
+                              BookingSummaryService bookingSummaryService) {
         this.bookingRepository = bookingRepository;
+        this.bookingSummaryService = bookingSummaryService;
     }
 
     @Override
@@ -44,6 +48,7 @@ public class PaymentServiceImpl implements PaymentService {
 
                     if (isSuccess) {
                         // In a real implementation, we would update the booking status here
+                        bookingSummaryService.evict(booking.getUser().getId());
                         return new PaymentResponseDto(
                                 true,
                                 transactionId,
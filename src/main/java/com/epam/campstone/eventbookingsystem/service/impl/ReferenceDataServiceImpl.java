@@ -0,0 +1,213 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.model.*;
+import com.epam.campstone.eventbookingsystem.repository.*;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final BookingStatusRepository bookingStatusRepository;
+    private final SeatStatusRepository seatStatusRepository;
+    private final EventStatusRepository eventStatusRepository;
+    private final EventTypeRepository eventTypeRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final CountryRepository countryRepository;
+    private final CityRepository cityRepository;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataServiceImpl(BookingStatusRepository bookingStatusRepository,
+                                    SeatStatusRepository seatStatusRepository,
+                                    EventStatusRepository eventStatusRepository,
+                                    EventTypeRepository eventTypeRepository,
+                                    UserRoleRepository userRoleRepository,
+                                    CountryRepository countryRepository,
+                                    CityRepository cityRepository) {
+        this.bookingStatusRepository = bookingStatusRepository;
+        this.seatStatusRepository = seatStatusRepository;
+        this.eventStatusRepository = eventStatusRepository;
+        this.eventTypeRepository = eventTypeRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.countryRepository = countryRepository;
+        this.cityRepository = cityRepository;
+    }
+
+    @Override
+    public BookingStatus bookingStatus(String name) {
+        return required(snapshot().bookingStatuses, name, "Booking status");
+    }
+
+    @Override
+    public SeatStatus seatStatus(String name) {
+        return required(snapshot().seatStatuses, name, "Seat status");
+    }
+
+    @Override
+    public EventStatus eventStatus(String name) {
+        return required(snapshot().eventStatuses, name, "Event status");
+    }
+
+    @Override
+    public UserRole userRole(String name) {
+        return required(snapshot().userRoles, name, "User role");
+    }
+
+    @Override
+    public Optional<EventType> findEventType(Long id) {
+        return Optional.ofNullable(id).map(snapshot().eventTypesById::get);
+    }
+
+    @Override
+    public List<EventType> eventTypes() {
+        return snapshot().eventTypes;
+    }
+
+    @Override
+    public Optional<Country> findCountry(Integer id) {
+        return Optional.ofNullable(id).map(snapshot().countriesById::get);
+    }
+
+    @Override
+    public Optional<Country> findCountry(String name) {
+        return Optional.ofNullable(name).map(snapshot().countriesByName::get);
+    }
+
+    @Override
+    public List<Country> countries() {
+        return snapshot().countries;
+    }
+
+    @Override
+    public Optional<City> findCity(Integer id) {
+        return Optional.ofNullable(id).map(snapshot().citiesById::get);
+    }
+
+    @Override
+    public Optional<City> findCity(String name) {
+        return Optional.ofNullable(name).map(snapshot().citiesByName::get);
+    }
+
+    @Override
+    public List<City> citiesOf(Integer countryId) {
+        return snapshot().citiesByCountry.getOrDefault(countryId, List.of());
+    }
+
+    @Override
+    public List<City> cities() {
+        return snapshot().cities;
+    }
+
+    @Override
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Reloading now would not see the change from other connections, or keep it after a rollback
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+            return;
+        }
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        snapshot();
+    }
+
+    /**
+     * Reload rows changed outside the application, e.g. by a migration or an operator.
+     */
+    @Scheduled(initialDelayString = "${app.reference-data.refresh-interval-ms:600000}",
+            fixedDelayString = "${app.reference-data.refresh-interval-ms:600000}")
+    public void reload() {
+        snapshot = load();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<EventType> eventTypes = eventTypeRepository.findAll().stream()
+                .sorted(Comparator.comparing(EventType::getId))
+                .toList();
+        List<Country> countries = List.copyOf(countryRepository.findAllByOrderByNameAsc());
+        List<City> cities = List.copyOf(cityRepository.findAllWithCountry());
+        Snapshot loaded = new Snapshot(
+                byKey(bookingStatusRepository.findAll(), BookingStatus::getName),
+                byKey(seatStatusRepository.findAll(), SeatStatus::getName),
+                byKey(eventStatusRepository.findAll(), EventStatus::getName),
+                byKey(userRoleRepository.findAll(), UserRole::getName),
+                eventTypes,
+                byKey(eventTypes, EventType::getId),
+                countries,
+                byKey(countries, Country::getId),
+                byKey(countries, Country::getName),
+                cities,
+                byKey(cities, City::getId),
+                byKey(cities, City::getName),
+                cities.stream().collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(city -> city.getCountry().getId(), Collectors.toUnmodifiableList()),
+                        Map::copyOf)));
+        log.debug("Loaded {} event types, {} countries and {} cities", eventTypes.size(), countries.size(), cities.size());
+        return loaded;
+    }
+
+    private static <K, V> Map<K, V> byKey(Collection<V> values, Function<V, K> key) {
+        // Keeps the first row if a key repeats, e.g. two countries with the same name
+        return Map.copyOf(values.stream().collect(Collectors.toMap(key, Function.identity(), (first, second) -> first)));
+    }
+
+    private static <T> T required(Map<String, T> values, String name, String kind) {
+        T value = name != null ? values.get(name) : null;
+        if (value == null) {
+            throw new IllegalStateException(kind + " not found: " + name);
+        }
+        return value;
+    }
+
+    private record Snapshot(Map<String, BookingStatus> bookingStatuses,
+                            Map<String, SeatStatus> seatStatuses,
+                            Map<String, EventStatus> eventStatuses,
+                            Map<String, UserRole> userRoles,
+                            List<EventType> eventTypes,
+                            Map<Long, EventType> eventTypesById,
+                            List<Country> countries,
+                            Map<Integer, Country> countriesById,
+                            Map<String, Country> countriesByName,
+                            List<City> cities,
+                            Map<Integer, City> citiesById,
+                            Map<String, City> citiesByName,
+                            Map<Integer, List<City>> citiesByCountry) {
+    }
+}
@@ -1,73 +1,112 @@
 package com.epam.campstone.eventbookingsystem.service.impl;
 
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.TokenRefreshException;
 import com.epam.campstone.eventbookingsystem.model.RefreshToken;
 import com.epam.campstone.eventbookingsystem.repository.RefreshTokenRepository;
 import com.epam.campstone.eventbookingsystem.repository.UserRepository;
+import com.epam.campstone.eventbookingsystem.repository.projection.RefreshTokenView;
+import com.epam.campstone.eventbookingsystem.security.jwt.JwtUtils;
 import com.epam.campstone.eventbookingsystem.service.api.RefreshTokenService;
+import com.epam.campstone.eventbookingsystem.util.TokenHashUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.Base64;
 import java.util.UUID;
 
 @Service
+@Slf4j
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Value("${app.jwt.refreshExpirationMs:3600000}")
     private Long refreshTokenDurationMs;
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
 
     @Autowired
     public RefreshTokenServiceImpl(
             RefreshTokenRepository refreshTokenRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            JwtUtils jwtUtils) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
+        this.jwtUtils = jwtUtils;
     }
 
     @Override
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    @Transactional
+    public String createRefreshToken(Long userId) {
+        return issue(userId, UUID.randomUUID());
     }
 
     @Override
-    @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        // Delete any existing refresh tokens for this user
-        userRepository.findById(userId).ifPresent(refreshTokenRepository::deleteByUser);
+    // A revoked family must stay revoked although the caller gets an exception
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public TokenRefreshResponse rotate(String refreshToken) {
+        String tokenHash = TokenHashUtil.sha256Hex(refreshToken);
+        RefreshTokenView token = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new TokenRefreshException(tokenHash, "Refresh token is not in database!"));
 
-        // Create a new refresh token
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
-
-        // Save the refresh token
-        refreshToken = refreshTokenRepository.save(refreshToken);
+        Instant now = Instant.now();
+        if (token.getExpiryDate().isBefore(now)) {
+            refreshTokenRepository.deleteById(token.getId());
+            throw new TokenRefreshException(tokenHash,
+                    "Refresh token was expired. Please make a new signin request");
+        }
+        // The conditional update also settles two concurrent refreshes with the same token
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens of family {}",
+                    token.getUserId(), revoked, token.getFamilyId());
+            throw new TokenRefreshException(tokenHash,
+                    "Refresh token was already used. Please make a new signin request");
+        }
+        if (!Boolean.TRUE.equals(token.getActive())) {
+            refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+            throw new TokenRefreshException(tokenHash, "User account is not active");
+        }
 
-        return refreshToken;
+        String accessToken = jwtUtils.generateToken(token.getUserId(), token.getEmail(), token.getRoleName());
+        return new TokenRefreshResponse(accessToken, issue(token.getUserId(), token.getFamilyId()));
     }
 
     @Override
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new TokenRefreshException(token.getToken(),
-                    "Refresh token was expired. Please make a new signin request");
-        }
-        return token;
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(TokenHashUtil.sha256Hex(refreshToken))
+                .map(RefreshTokenView::getUserId)
+                .ifPresent(refreshTokenRepository::deleteByUserId);
     }
 
     @Override
     @Transactional
     public void deleteByUserId(Long userId) {
-        userRepository.findById(userId).ifPresent(refreshTokenRepository::deleteByUser);
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        // A reference is enough for the foreign key; the user is not loaded
+        refreshToken.setUser(userRepository.getReferenceById(userId));
+        refreshToken.setTokenHash(TokenHashUtil.sha256Hex(value));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
+        refreshTokenRepository.save(refreshToken);
+        return value;
     }
-}
\ No newline at end of file
+}
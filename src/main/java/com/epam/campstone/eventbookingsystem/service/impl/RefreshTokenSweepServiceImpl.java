@@ -0,0 +1,81 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.repository.RefreshTokenRepository;
+import com.epam.campstone.eventbookingsystem.service.api.RefreshTokenSweepService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Slf4j
+@Service
+public class RefreshTokenSweepServiceImpl implements RefreshTokenSweepService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMillis;
+    private final Counter purged;
+
+    public RefreshTokenSweepServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.jwt.refresh-sweep.batch-size:1000}") int batchSize,
+                                        @Value("${app.jwt.refresh-sweep.max-batches:50}") int maxBatches,
+                                        @Value("${app.jwt.refresh-sweep.pause-ms:100}") long pauseMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMillis = pauseMillis;
+        this.purged = Counter.builder("app.refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.jwt.refresh-sweep.interval-ms:300000}",
+            fixedDelayString = "${app.jwt.refresh-sweep.interval-ms:300000}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted;
+            try {
+                deleted = Objects.requireNonNull(transactionTemplate.execute(status ->
+                        refreshTokenRepository.deleteExpiredBatch(now, batchSize)));
+            } catch (DataAccessException e) {
+                log.error("Failed to delete expired refresh tokens, will retry on the next run: {}", e.getMessage());
+                break;
+            }
+            total += deleted;
+            purged.increment(deleted);
+            // A short batch means the backlog is gone; otherwise leave room for other work
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired refresh tokens", total);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
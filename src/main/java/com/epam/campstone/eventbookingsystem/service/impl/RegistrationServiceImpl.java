@@ -6,10 +6,9 @@ import com.epam.campstone.eventbookingsystem.model.Country;
 import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.model.UserPasswordHistory;
 import com.epam.campstone.eventbookingsystem.model.UserRole;
-import com.epam.campstone.eventbookingsystem.repository.CountryRepository;
 import com.epam.campstone.eventbookingsystem.repository.UserPasswordRepository;
 import com.epam.campstone.eventbookingsystem.repository.UserRepository;
-import com.epam.campstone.eventbookingsystem.repository.UserRoleRepository;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
 import com.epam.campstone.eventbookingsystem.service.api.RegistrationService;
 import com.epam.campstone.eventbookingsystem.util.PasswordUtil;
 import jakarta.transaction.Transactional;
@@ -24,22 +23,19 @@ public class RegistrationServiceImpl implements RegistrationService {
     private static final String HASH_ALGORITHM = "bcrypt";
 
     private final UserRepository userRepository;
-    private final UserRoleRepository userRoleRepository;
-    private final CountryRepository countryRepository;
+    private final ReferenceDataService referenceDataService;
     private final String defaultRoleName;
     private final UserPasswordRepository userPasswordHistoryRepository;
     private final PasswordEncoder passwordEncoder;
 
     public RegistrationServiceImpl(
             UserRepository userRepository,
-            UserRoleRepository userRoleRepository,
-            CountryRepository countryRepository,
+            ReferenceDataService referenceDataService,
             @Value("${app.security.default-role:USER}") String defaultRoleName,
             UserPasswordRepository userPasswordHistoryRepository,
             PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
-        this.userRoleRepository = userRoleRepository;
-        this.countryRepository = countryRepository;
+        this.referenceDataService = referenceDataService;
         this.defaultRoleName = defaultRoleName;
         this.userPasswordHistoryRepository = userPasswordHistoryRepository;
         this.passwordEncoder = passwordEncoder;
@@ -54,11 +50,10 @@ public class RegistrationServiceImpl implements RegistrationService {
         }
 
         // Get the default user role
-        UserRole userRole = (registrationDto.getIsAdmin() ? userRoleRepository.findByName("ADMIN") : userRoleRepository.findByName(defaultRoleName))
-                .orElseThrow(() -> new IllegalStateException("Default user role not found"));
+        UserRole userRole = referenceDataService.userRole(registrationDto.getIsAdmin() ? "ADMIN" : defaultRoleName);
 
         // Get the country
-        Country country = countryRepository.findById(registrationDto.getCountryId())
+        Country country = referenceDataService.findCountry(registrationDto.getCountryId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid country ID"));
 
         // Create and save the new user
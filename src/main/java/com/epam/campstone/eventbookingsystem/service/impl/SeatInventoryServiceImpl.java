@@ -0,0 +1,595 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.dto.SeatDto;
+import com.epam.campstone.eventbookingsystem.repository.EventSeatBatchRepository;
+import com.epam.campstone.eventbookingsystem.repository.EventSeatBatchRepository.SeatStateUpdate;
+import com.epam.campstone.eventbookingsystem.repository.EventSeatRepository;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventSeatStateView;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatClaimLostEvent;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
+import com.epam.campstone.eventbookingsystem.util.SeatBitSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final String RESERVED = "RESERVED";
+    private static final long NO_BOOKING = 0L;
+    /**
+     * Owner of a seat claimed by {@link #reserve} and not assigned to a booking yet.
+     */
+    private static final long UNASSIGNED = -1L;
+    private static final int DROP_STRIPES = 64;
+
+    private final EventSeatRepository eventSeatRepository;
+    private final EventSeatBatchRepository eventSeatBatchRepository;
+    private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int flushBatchSize;
+    private final int seatMapMaxSize;
+    private final long seatMapIdleTtlNanos;
+
+    private final ConcurrentMap<Long, EventSeatMap> seatMaps = new ConcurrentHashMap<>();
+    /**
+     * Seat maps dropped per stripe of event IDs, so a load can tell whether a map of its event
+     * was dropped while it was querying.
+     */
+    private final AtomicLongArray seatMapDrops = new AtomicLongArray(DROP_STRIPES);
+    private final BlockingDeque<SeatStateUpdate> pendingUpdates = new LinkedBlockingDeque<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SeatInventoryServiceImpl(EventSeatRepository eventSeatRepository,
+                                    EventSeatBatchRepository eventSeatBatchRepository,
+                                    ReferenceDataService referenceDataService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.inventory.flush-batch-size:500}") int flushBatchSize,
+                                    @Value("${app.inventory.seat-map.max-size:1000}") int seatMapMaxSize,
+                                    @Value("${app.inventory.seat-map.idle-ttl-seconds:1800}") long seatMapIdleTtlSeconds) {
+        this.eventSeatRepository = eventSeatRepository;
+        this.eventSeatBatchRepository = eventSeatBatchRepository;
+        this.referenceDataService = referenceDataService;
+        this.eventPublisher = eventPublisher;
+        this.flushBatchSize = flushBatchSize;
+        this.seatMapMaxSize = seatMapMaxSize;
+        this.seatMapIdleTtlNanos = TimeUnit.SECONDS.toNanos(seatMapIdleTtlSeconds);
+    }
+
+    @Override
+    public boolean reserve(Long eventId, Collection<Long> seatIds) {
+        EventSeatMap seatMap = acquire(eventId);
+        try {
+            int[] indexes = seatMap.indexesOf(seatIds);
+            if (indexes == null || !seatMap.claimed.tryClaimAll(indexes)) {
+                return false;
+            }
+            seatMap.markUnassigned(indexes);
+            return true;
+        } finally {
+            seatMap.leave();
+        }
+    }
+
+    @Override
+    public void assign(Long eventId, Collection<Long> seatIds, Long bookingId) {
+        EventSeatMap seatMap = acquire(eventId);
+        try {
+            long availableStatusId = statusId(AVAILABLE);
+            long reservedStatusId = statusId(RESERVED);
+            for (Long seatId : seatIds) {
+                int index = seatMap.indexOf(seatId);
+                if (index < 0 || !seatMap.claimed.isClaimed(index)) {
+                    throw new IllegalStateException("Seat " + seatId + " is not reserved for event " + eventId);
+                }
+                long previous = seatMap.owners.getAndSet(index, bookingId);
+                pendingUpdates.add(new SeatStateUpdate(eventId, seatId, availableStatusId, null, reservedStatusId, bookingId));
+                // An unassigned claim is already counted as unwritten and now becomes this update
+                if (previous != UNASSIGNED) {
+                    seatMap.unwritten.incrementAndGet();
+                }
+            }
+        } finally {
+            seatMap.leave();
+        }
+    }
+
+    @Override
+    public void release(Long eventId, Collection<Long> seatIds) {
+        EventSeatMap seatMap = acquire(eventId);
+        try {
+            long availableStatusId = statusId(AVAILABLE);
+            long reservedStatusId = statusId(RESERVED);
+            for (Long seatId : seatIds) {
+                int index = seatMap.indexOf(seatId);
+                if (index < 0) {
+                    continue;
+                }
+                long owner = seatMap.owners.getAndSet(index, NO_BOOKING);
+                if (!seatMap.releaseSeat(index)) {
+                    continue;
+                }
+                if (owner == UNASSIGNED) {
+                    // A claim that was never assigned to a booking was never written either
+                    seatMap.unwritten.decrementAndGet();
+                } else if (owner != NO_BOOKING) {
+                    pendingUpdates.add(new SeatStateUpdate(eventId, seatId, reservedStatusId, owner,
+                            availableStatusId, null));
+                    seatMap.unwritten.incrementAndGet();
+                }
+            }
+        } finally {
+            seatMap.leave();
+        }
+    }
+
+    @Override
+    public int releaseBooking(Long eventId, Long bookingId) {
+        EventSeatMap seatMap = acquire(eventId);
+        try {
+            long availableStatusId = statusId(AVAILABLE);
+            long reservedStatusId = statusId(RESERVED);
+            int released = 0;
+            for (int index = 0; index < seatMap.seatIds.length; index++) {
+                if (seatMap.owners.compareAndSet(index, bookingId, NO_BOOKING) && seatMap.releaseSeat(index)) {
+                    pendingUpdates.add(new SeatStateUpdate(eventId, seatMap.seatIds[index], reservedStatusId, bookingId,
+                            availableStatusId, null));
+                    seatMap.unwritten.incrementAndGet();
+                    released++;
+                }
+            }
+            return released;
+        } finally {
+            seatMap.leave();
+        }
+    }
+
+    @Override
+    public List<SeatDto> findBestAvailable(Long eventId, int count, String section, BigDecimal maxPrice) {
+        EventSeatMap seatMap = seatMap(eventId);
+        SeatBlock block = seatMap.findBestBlock(count, section, maxPrice);
+        return block == null ? List.of() : seatMap.toSeats(block);
+    }
+
+    @Override
+    public int countAvailableSeats(Long eventId) {
+        return seatMap(eventId).claimed.freeCount();
+    }
+
+    @Override
+    public void evict(Long eventId) {
+        EventSeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null) {
+            return;
+        }
+        seatMap.stale = true;
+        // Write what is pending now; a map still holding claims is dropped by a later flush
+        flush();
+        drop(eventId, seatMap);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:200}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        List<SeatStateUpdate> lostClaims = new ArrayList<>();
+        try {
+            List<SeatStateUpdate> batch = new ArrayList<>(Math.min(flushBatchSize, pendingUpdates.size()));
+            while (pendingUpdates.drainTo(batch, flushBatchSize) > 0) {
+                int[] updated;
+                try {
+                    updated = eventSeatBatchRepository.updateSeatStates(batch);
+                } catch (DataAccessException e) {
+                    log.error("Failed to write {} seat updates, will retry: {}", batch.size(), e.getMessage());
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        pendingUpdates.addFirst(batch.get(i));
+                    }
+                    break;
+                }
+                log.debug("Wrote {} seat updates", batch.size());
+                settle(batch, updated, lostClaims);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        publishLostClaims(lostClaims);
+        dropSeatMaps(System.nanoTime());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Count the written updates off their seat maps. A claim whose update matched no row was taken
+     * by another node first: the database wins, so the seat stays claimed here without an owner and
+     * its map is marked stale to be reloaded once everything else it holds is written. Releases that
+     * matched no row were already written by the transaction that expired or cancelled the booking.
+     */
+    private void settle(List<SeatStateUpdate> batch, int[] updated, List<SeatStateUpdate> lostClaims) {
+        long reservedStatusId = statusId(RESERVED);
+        for (int i = 0; i < updated.length; i++) {
+            SeatStateUpdate update = batch.get(i);
+            // Never null: a map is not dropped while it has unwritten updates
+            EventSeatMap seatMap = seatMaps.get(update.eventId());
+            if (updated[i] == 0 && update.statusId() == reservedStatusId) {
+                log.warn("Lost the claim of seat {} of event {} for booking {} to another node",
+                        update.seatId(), update.eventId(), update.bookingId());
+                seatMap.owners.compareAndSet(seatMap.indexOf(update.seatId()), update.bookingId(), NO_BOOKING);
+                seatMap.stale = true;
+                lostClaims.add(update);
+            }
+            seatMap.unwritten.decrementAndGet();
+        }
+    }
+
+    /**
+     * Tell the booking side about every booking that lost seats, so it can give them up.
+     */
+    private void publishLostClaims(List<SeatStateUpdate> lostClaims) {
+        Map<Long, List<SeatStateUpdate>> byBooking = new LinkedHashMap<>();
+        lostClaims.forEach(update -> byBooking.computeIfAbsent(update.bookingId(), id -> new ArrayList<>()).add(update));
+        byBooking.forEach((bookingId, updates) -> eventPublisher.publishEvent(new SeatClaimLostEvent(
+                updates.get(0).eventId(), bookingId, updates.stream().map(SeatStateUpdate::seatId).toList())));
+    }
+
+    /**
+     * Drop the seat maps that are stale or idle, then the least recently used ones beyond the size
+     * limit. A map holding claims the database does not have yet is kept until they are written.
+     */
+    private void dropSeatMaps(long now) {
+        List<SeatMapAccess> kept = new ArrayList<>();
+        for (Map.Entry<Long, EventSeatMap> entry : seatMaps.entrySet()) {
+            EventSeatMap seatMap = entry.getValue();
+            long lastAccessNanos = seatMap.lastAccessNanos;
+            boolean expired = seatMap.stale || now - lastAccessNanos > seatMapIdleTtlNanos;
+            if (!expired || !drop(entry.getKey(), seatMap)) {
+                kept.add(new SeatMapAccess(entry.getKey(), seatMap, lastAccessNanos));
+            }
+        }
+        int excess = kept.size() - seatMapMaxSize;
+        if (excess <= 0) {
+            return;
+        }
+        kept.sort(Comparator.comparingLong(SeatMapAccess::lastAccessNanos));
+        for (int i = 0; i < kept.size() && excess > 0; i++) {
+            if (drop(kept.get(i).eventId(), kept.get(i).seatMap())) {
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * Drop a seat map unless it holds unwritten claims or is in use.
+     *
+     * @return true if the map was dropped
+     */
+    private boolean drop(Long eventId, EventSeatMap seatMap) {
+        if (!seatMap.retire()) {
+            return false;
+        }
+        // Counted before the removal, so a load that finds the map gone also sees the count change
+        seatMapDrops.incrementAndGet(dropStripe(eventId));
+        seatMaps.remove(eventId, seatMap);
+        log.debug("Dropped seat map of event {}", eventId);
+        return true;
+    }
+
+    /**
+     * Get the seat map of an event to change it. The map cannot be dropped until {@link EventSeatMap#leave}.
+     */
+    private EventSeatMap acquire(Long eventId) {
+        while (true) {
+            EventSeatMap seatMap = seatMap(eventId);
+            if (seatMap.enter()) {
+                return seatMap;
+            }
+            seatMaps.remove(eventId, seatMap);
+        }
+    }
+
+    private EventSeatMap seatMap(Long eventId) {
+        EventSeatMap seatMap = seatMaps.get(eventId);
+        while (seatMap == null) {
+            // Load outside computeIfAbsent: its bin lock would pin a virtual thread for the whole query
+            long drops = seatMapDrops.get(dropStripe(eventId));
+            EventSeatMap loaded = loadSeatMap(eventId);
+            // A map of this event dropped during the query may have written claims the query missed
+            seatMap = seatMaps.compute(eventId, (id, current) -> current != null ? current
+                    : seatMapDrops.get(dropStripe(id)) == drops ? loaded : null);
+        }
+        seatMap.lastAccessNanos = System.nanoTime();
+        return seatMap;
+    }
+
+    private static int dropStripe(Long eventId) {
+        return Long.hashCode(eventId) & (DROP_STRIPES - 1);
+    }
+
+    private EventSeatMap loadSeatMap(Long eventId) {
+        List<EventSeatStateView> states = eventSeatRepository.findSeatStatesByEventId(eventId);
+        EventSeatMap seatMap = new EventSeatMap(states.size());
+        for (int index = 0; index < states.size(); index++) {
+            EventSeatStateView state = states.get(index);
+            seatMap.seatIds[index] = state.getSeatId();
+            seatMap.seatNumbers[index] = state.getSeatNumber();
+            seatMap.prices[index] = state.getBasePrice();
+            if (!AVAILABLE.equals(state.getStatusName())) {
+                seatMap.claimed.tryClaim(index);
+                if (state.getBookingId() != null) {
+                    seatMap.owners.set(index, state.getBookingId());
+                }
+            }
+        }
+        seatMap.setRows(buildRows(states));
+        log.info("Loaded seat map for event {}: {} seats, {} available",
+                eventId, seatMap.seatIds.length, seatMap.claimed.freeCount());
+        return seatMap;
+    }
+
+    /**
+     * Group the seat indexes of an event by section and row, each row ordered by seat number.
+     */
+    private static SeatRow[] buildRows(List<EventSeatStateView> states) {
+        Map<String, Map<Integer, List<Integer>>> sections = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (int index = 0; index < states.size(); index++) {
+            EventSeatStateView state = states.get(index);
+            sections.computeIfAbsent(state.getSection(), section -> new TreeMap<>())
+                    .computeIfAbsent(state.getRowNumber(), row -> new ArrayList<>())
+                    .add(index);
+        }
+        List<SeatRow> rows = new ArrayList<>();
+        sections.forEach((section, sectionRows) -> sectionRows.forEach((rowNumber, indexes) -> {
+            indexes.sort(Comparator.comparing(index -> states.get(index).getSeatNumber()));
+            BigDecimal minPrice = null;
+            BigDecimal maxPrice = null;
+            for (int index : indexes) {
+                BigDecimal price = states.get(index).getBasePrice();
+                minPrice = minPrice == null || price.compareTo(minPrice) < 0 ? price : minPrice;
+                maxPrice = maxPrice == null || price.compareTo(maxPrice) > 0 ? price : maxPrice;
+            }
+            rows.add(new SeatRow(section, rowNumber, indexes.stream().mapToInt(Integer::intValue).toArray(),
+                    minPrice, maxPrice));
+        }));
+        return rows.toArray(SeatRow[]::new);
+    }
+
+    private long statusId(String name) {
+        return referenceDataService.seatStatus(name).getId();
+    }
+
+    /**
+     * Seat map of a single event: seat ids sorted ascending, the claimed bit of every seat,
+     * the booking holding it and its position, all addressed by the same index.
+     * {@code rows} lists the indexes of every row in seat number order for adjacency searches,
+     * {@code rowOf} the row of every seat.
+     * <p>
+     * {@code unwritten} counts the claims and seat changes the database does not have yet plus the
+     * callers changing the map; the map may only be dropped and reloaded while it is 0, and is
+     * {@code RETIRED} once dropped.
+     * <p>
+     * {@code runSummaries} keeps, per row, an upper bound of its longest run of free adjacent seats
+     * in the low 32 bits and a release counter in the high 32 bits. Claims only shorten runs, so the
+     * bound stays valid without being touched on a claim; a search that scans a row tightens it to
+     * the run it saw unless a release bumped the counter meanwhile, and every release widens it to
+     * the whole row again. Searches skip rows whose bound is below the wanted count, so sold-out
+     * rows cost one read each instead of a scan.
+     */
+    private static final class EventSeatMap {
+        private final long[] seatIds;
+        private final int[] seatNumbers;
+        private final BigDecimal[] prices;
+        private final SeatBitSet claimed;
+        private final AtomicLongArray owners;
+        private final int[] rowOf;
+        private SeatRow[] rows = new SeatRow[0];
+        private AtomicLongArray runSummaries = new AtomicLongArray(0);
+        private final AtomicLong unwritten = new AtomicLong();
+        private volatile long lastAccessNanos;
+        /**
+         * Set when the map no longer matches the database and must be reloaded once it can be dropped.
+         */
+        private volatile boolean stale;
+
+        private EventSeatMap(int size) {
+            this.seatIds = new long[size];
+            this.seatNumbers = new int[size];
+            this.prices = new BigDecimal[size];
+            this.claimed = new SeatBitSet(size);
+            this.owners = new AtomicLongArray(size);
+            this.rowOf = new int[size];
+        }
+
+        private static final long RETIRED = -1L;
+
+        /**
+         * Start changing the map.
+         *
+         * @return false if the map has been dropped and must not be changed
+         */
+        private boolean enter() {
+            while (true) {
+                long current = unwritten.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (unwritten.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void leave() {
+            unwritten.decrementAndGet();
+        }
+
+        private boolean retire() {
+            return unwritten.compareAndSet(0, RETIRED);
+        }
+
+        /**
+         * Mark freshly claimed seats as not assigned to a booking yet.
+         */
+        private void markUnassigned(int[] indexes) {
+            for (int index : indexes) {
+                owners.set(index, UNASSIGNED);
+            }
+            unwritten.addAndGet(indexes.length);
+        }
+
+        private void setRows(SeatRow[] rows) {
+            this.runSummaries = new AtomicLongArray(rows.length);
+            for (int row = 0; row < rows.length; row++) {
+                for (int index : rows[row].indexes()) {
+                    rowOf[index] = row;
+                }
+                runSummaries.set(row, rows[row].indexes().length);
+            }
+            this.rows = rows;
+        }
+
+        /**
+         * Release the claim of a seat and widen the run summary of its row.
+         *
+         * @return true if the seat was claimed
+         */
+        private boolean releaseSeat(int index) {
+            if (!claimed.release(index)) {
+                return false;
+            }
+            int row = rowOf[index];
+            int rowLength = rows[row].indexes().length;
+            runSummaries.updateAndGet(row, summary -> ((summary >>> 32) + 1) << 32 | rowLength);
+            return true;
+        }
+
+        /**
+         * Scan the rows that may hold {@code count} free adjacent seats for runs of free, consecutively
+         * numbered seats within the price limit and keep the window of {@code count} seats whose middle
+         * is closest to the middle of its row. Prices are only compared in rows that have seats both
+         * within and above the limit.
+         *
+         * @return the best window, or null if there is none
+         */
+        private SeatBlock findBestBlock(int count, String section, BigDecimal maxPrice) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("Seat count must be positive: " + count);
+            }
+            SeatRow bestRow = null;
+            int bestStart = -1;
+            int bestOffset = Integer.MAX_VALUE;
+            for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
+                SeatRow row = rows[rowIndex];
+                int[] indexes = row.indexes();
+                if (indexes.length < count || (section != null && !section.equals(row.section()))
+                        || (maxPrice != null && row.minPrice().compareTo(maxPrice) > 0)) {
+                    continue;
+                }
+                long summary = runSummaries.get(rowIndex);
+                if ((int) summary < count) {
+                    continue;
+                }
+                boolean checkPrice = maxPrice != null && row.maxPrice().compareTo(maxPrice) > 0;
+                // Doubled seat numbers keep the middle of the row and of each window integral
+                int rowMiddle = seatNumbers[indexes[0]] + seatNumbers[indexes[indexes.length - 1]];
+                int freeStart = 0;
+                int runStart = 0;
+                int longestRun = 0;
+                for (int i = 0; i < indexes.length; i++) {
+                    int index = indexes[i];
+                    if (claimed.isClaimed(index)) {
+                        freeStart = i + 1;
+                        runStart = i + 1;
+                        continue;
+                    }
+                    if (i > 0 && seatNumbers[index] != seatNumbers[indexes[i - 1]] + 1) {
+                        freeStart = Math.max(freeStart, i);
+                        runStart = Math.max(runStart, i);
+                    }
+                    longestRun = Math.max(longestRun, i - freeStart + 1);
+                    if (checkPrice && prices[index].compareTo(maxPrice) > 0) {
+                        runStart = i + 1;
+                        continue;
+                    }
+                    if (i - runStart + 1 >= count) {
+                        int start = i - count + 1;
+                        int offset = Math.abs(seatNumbers[indexes[start]] + seatNumbers[index] - rowMiddle);
+                        if (offset < bestOffset || (offset == bestOffset && row.rowNumber() < bestRow.rowNumber())) {
+                            bestRow = row;
+                            bestStart = start;
+                            bestOffset = offset;
+                        }
+                    }
+                }
+                // Fails if a release widened the row meanwhile; the run seen then may be too short
+                runSummaries.compareAndSet(rowIndex, summary, (summary >>> 32) << 32 | longestRun);
+            }
+            return bestRow == null ? null
+                    : new SeatBlock(bestRow, Arrays.copyOfRange(bestRow.indexes(), bestStart, bestStart + count));
+        }
+
+        private List<SeatDto> toSeats(SeatBlock block) {
+            List<SeatDto> seats = new ArrayList<>(block.indexes().length);
+            for (int index : block.indexes()) {
+                seats.add(new SeatDto(seatIds[index], block.row().rowNumber(), seatNumbers[index],
+                        block.row().section(), prices[index]));
+            }
+            return seats;
+        }
+
+        private int indexOf(Long seatId) {
+            return seatId == null ? -1 : Arrays.binarySearch(seatIds, seatId);
+        }
+
+        private int[] indexesOf(Collection<Long> ids) {
+            int[] indexes = new int[ids.size()];
+            int i = 0;
+            for (Long seatId : ids) {
+                int index = indexOf(seatId);
+                if (index < 0) {
+                    return null;
+                }
+                indexes[i++] = index;
+            }
+            return indexes;
+        }
+    }
+
+    /**
+     * One row of a section: the seat map indexes of its seats in seat number order and the
+     * lowest and highest base price among them.
+     */
+    private record SeatRow(String section, int rowNumber, int[] indexes, BigDecimal minPrice, BigDecimal maxPrice) {
+    }
+
+    private record SeatMapAccess(Long eventId, EventSeatMap seatMap, long lastAccessNanos) {
+    }
+
+    /**
+     * Adjacent seats of one row, as seat map indexes.
+     */
+    private record SeatBlock(SeatRow row, int[] indexes) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.epam.campstone.eventbookingsystem.service.impl;
+
+import com.epam.campstone.eventbookingsystem.dto.SeatMapSectionDto;
+import com.epam.campstone.eventbookingsystem.exception.ResourceNotFoundException;
+import com.epam.campstone.eventbookingsystem.repository.EventRepository;
+import com.epam.campstone.eventbookingsystem.repository.SeatBatchRepository;
+import com.epam.campstone.eventbookingsystem.repository.SeatBatchRepository.SeatRow;
+import com.epam.campstone.eventbookingsystem.repository.VenueRepository;
+import com.epam.campstone.eventbookingsystem.service.api.ReferenceDataService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatMapService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.epam.campstone.eventbookingsystem.repository.SeatBatchRepository.SEAT_ID_BLOCK_SIZE;
+
+@Slf4j
+@Service
+@Transactional
+public class SeatMapServiceImpl implements SeatMapService {
+
+    private static final String AVAILABLE = "AVAILABLE";
+
+    private final SeatBatchRepository seatBatchRepository;
+    private final ReferenceDataService referenceDataService;
+    private final VenueRepository venueRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final int batchSize;
+    private final long maxSeats;
+
+    public SeatMapServiceImpl(SeatBatchRepository seatBatchRepository,
+                              ReferenceDataService referenceDataService,
+                              VenueRepository venueRepository,
+                              EventRepository eventRepository,
+                              SeatInventoryService seatInventoryService,
+                              @Value("${app.seat-map.batch-size:1000}") int batchSize,
+                              @Value("${app.seat-map.max-seats:200000}") long maxSeats) {
+        this.seatBatchRepository = seatBatchRepository;
+        this.referenceDataService = referenceDataService;
+        this.venueRepository = venueRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        // Whole ID blocks per batch, so no reserved IDs are left unused between batches
+        this.batchSize = Math.max(1, batchSize / SEAT_ID_BLOCK_SIZE) * SEAT_ID_BLOCK_SIZE;
+        this.maxSeats = maxSeats;
+    }
+
+    @Override
+    public List<SeatMapSectionDto> parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Seat map spec is empty");
+        }
+        List<SeatMapSectionDto> sections = new ArrayList<>();
+        for (String line : spec.split("[;\\n]")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.trim().split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Expected section:rows:seats:price but got: " + line.trim());
+            }
+            int[] rows = parseRange(parts[1], line);
+            int[] seats = parseRange(parts[2], line);
+            BigDecimal price;
+            try {
+                price = new BigDecimal(parts[3].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price in: " + line.trim());
+            }
+            SeatMapSectionDto section = new SeatMapSectionDto(parts[0].trim(), rows[0], rows[1], seats[0], seats[1], price);
+            validate(section);
+            sections.add(section);
+        }
+        return sections;
+    }
+
+    @Override
+    public long importVenueSeats(Long venueId, List<SeatMapSectionDto> sections) {
+        if (!venueRepository.existsById(venueId)) {
+            throw new ResourceNotFoundException("Venue not found with id: " + venueId);
+        }
+        sections.forEach(this::validate);
+        long total = sections.stream().mapToLong(SeatMapSectionDto::seatCount).sum();
+        if (total > maxSeats) {
+            throw new IllegalArgumentException("Seat map has " + total + " seats, the limit is " + maxSeats);
+        }
+
+        long statusId = availableStatusId();
+        Iterator<SeatRow> seats = new SeatRowIterator(venueId, sections);
+        List<SeatRow> batch = new ArrayList<>(batchSize);
+        long created = 0;
+        while (seats.hasNext()) {
+            // Seats are generated lazily, so only one batch is held in memory at a time
+            int size = (int) Math.min(batchSize, total - created);
+            List<Long> idBlocks = seatBatchRepository.allocateSeatIdBlocks(size);
+            for (int i = 0; i < size; i++) {
+                SeatRow seat = seats.next();
+                long id = idBlocks.get(i / SEAT_ID_BLOCK_SIZE) + i % SEAT_ID_BLOCK_SIZE;
+                batch.add(new SeatRow(id, venueId, seat.section(), seat.rowNumber(), seat.seatNumber(), seat.basePrice()));
+            }
+            seatBatchRepository.insertSeats(batch, statusId);
+            created += batch.size();
+            batch.clear();
+        }
+        log.info("Created {} seats for venue {}", created, venueId);
+        return created;
+    }
+
+    @Override
+    public int provisionEventSeats(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        int created = seatBatchRepository.insertEventSeats(eventId, availableStatusId());
+        // The in-memory seat map was built from the old rows
+        seatInventoryService.evict(eventId);
+        log.info("Created {} event seats for event {}", created, eventId);
+        return created;
+    }
+
+    private void validate(SeatMapSectionDto section) {
+        if (section.getFromRow() < 1 || section.getToRow() < section.getFromRow()
+                || section.getFromSeat() < 1 || section.getToSeat() < section.getFromSeat()) {
+            throw new IllegalArgumentException("Invalid row or seat range in section: " + section.getSection());
+        }
+        if (section.getBasePrice() == null || section.getBasePrice().signum() <= 0) {
+            throw new IllegalArgumentException("Price must be greater than 0 in section: " + section.getSection());
+        }
+        if (section.getSection() != null && section.getSection().length() > 50) {
+            throw new IllegalArgumentException("Section name must be at most 50 characters: " + section.getSection());
+        }
+    }
+
+    private long availableStatusId() {
+        return referenceDataService.seatStatus(AVAILABLE).getId();
+    }
+
+    private static int[] parseRange(String range, String line) {
+        String[] bounds = range.trim().split("-");
+        try {
+            int from = Integer.parseInt(bounds[0].trim());
+            int to = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : from;
+            if (bounds.length > 2) {
+                throw new IllegalArgumentException("Invalid range in: " + line.trim());
+            }
+            return new int[]{from, to};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid range in: " + line.trim());
+        }
+    }
+
+    /**
+     * Walks the sections row by row and seat by seat. IDs are assigned by the caller.
+     */
+    private static final class SeatRowIterator implements Iterator<SeatRow> {
+        private final long venueId;
+        private final Iterator<SeatMapSectionDto> sections;
+        private SeatMapSectionDto section;
+        private int row;
+        private int seat;
+
+        private SeatRowIterator(long venueId, List<SeatMapSectionDto> sections) {
+            this.venueId = venueId;
+            this.sections = sections.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (section != null && (seat < section.getToSeat() || row < section.getToRow())) {
+                return true;
+            }
+            return sections.hasNext();
+        }
+
+        @Override
+        public SeatRow next() {
+            if (section != null && seat < section.getToSeat()) {
+                seat++;
+            } else if (section != null && row < section.getToRow()) {
+                row++;
+                seat = section.getFromSeat();
+            } else {
+                section = sections.next();
+                row = section.getFromRow();
+                seat = section.getFromSeat();
+            }
+            return new SeatRow(0, venueId, section.getSection(), row, seat, section.getBasePrice());
+        }
+    }
+}
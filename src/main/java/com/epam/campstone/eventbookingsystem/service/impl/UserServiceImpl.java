@@ -10,6 +10,7 @@ import com.epam.campstone.eventbookingsystem.repository.UserPasswordRepository;
 import com.epam.campstone.eventbookingsystem.repository.UserRepository;
 import com.epam.campstone.eventbookingsystem.repository.UserRoleRepository;
 import com.epam.campstone.eventbookingsystem.service.api.CountryService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.UserService;
 import com.epam.campstone.eventbookingsystem.util.PasswordUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -30,16 +31,19 @@ public class UserServiceImpl implements UserService {
     private final UserPasswordRepository userPasswordRepository;
     private final CountryService countryService;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserService currentUserService;
 
     public UserServiceImpl(UserRepository userRepository,
                            UserPasswordRepository userPasswordRepository,
                            UserRoleRepository userRoleRepository,
                            CountryService countryService,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           CurrentUserService currentUserService) {
         this.userRepository = userRepository;
         this.userPasswordRepository = userPasswordRepository;
         this.countryService = countryService;
         this.passwordEncoder = passwordEncoder;
+        this.currentUserService = currentUserService;
     }
 
     @Override
@@ -71,6 +75,7 @@ public class UserServiceImpl implements UserService {
         user.setLastName(userProfile.getLastName());
         Country country = countryService.findById(userProfile.getCountry().getId()).orElse(null);
         user.setCountry(country);
+        currentUserService.evict(user.getEmail());
     }
 
     @Transactional
@@ -108,5 +113,6 @@ public class UserServiceImpl implements UserService {
         this.userPasswordRepository.save(passwordHistory);
 
         user.getUserPasswordHistories().add(passwordHistory);
+        currentUserService.evict(user.getEmail());
     }
 }
@@ -0,0 +1,67 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries an action that lost an optimistic-lock race, with exponential backoff and full jitter.
+ * <p>
+ * Attempt {@code n} waits a random time between 0 and {@code min(maxDelay, baseDelay * 2^n)}, so
+ * callers that collided on the same row spread out instead of colliding again. The action must
+ * run its own transaction: retrying inside a transaction that already failed cannot succeed.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxAttempts     the total number of attempts, at least 1
+     * @param baseDelayMillis the backoff cap of the first retry in milliseconds
+     * @param maxDelayMillis  the largest backoff cap in milliseconds
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Run the action, retrying it while it fails with an {@link OptimisticLockingFailureException}.
+     *
+     * @param action the action to run
+     * @return the result of the first successful attempt
+     * @throws OptimisticLockingFailureException if every attempt lost the race
+     */
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
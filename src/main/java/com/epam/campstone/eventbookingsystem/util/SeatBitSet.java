@@ -0,0 +1,123 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free bitset used to track claimed seats of a single event.
+ * <p>
+ * A set bit means the seat at that index is taken (reserved or purchased).
+ * Bits are flipped with compare-and-set on 64-bit words, so concurrent
+ * claims of different seats never block each other and two claims of the
+ * same seat can never both succeed.
+ */
+public class SeatBitSet {
+
+    private static final int WORD_SHIFT = 6;
+
+    private final AtomicLongArray words;
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final int size;
+
+    public SeatBitSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        this.size = size;
+        this.words = new AtomicLongArray((size + Long.SIZE - 1) >>> WORD_SHIFT);
+    }
+
+    /**
+     * Claim a single seat.
+     *
+     * @param index the seat index
+     * @return true if the seat was free and is now claimed by the caller
+     */
+    public boolean tryClaim(int index) {
+        checkIndex(index);
+        int word = index >>> WORD_SHIFT;
+        long mask = 1L << index;
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                claimed.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Claim all given seats or none of them. Seats claimed before a conflict
+     * is detected are released again before returning.
+     *
+     * @param indexes the seat indexes
+     * @return true if every seat was claimed by the caller
+     */
+    public boolean tryClaimAll(int[] indexes) {
+        int[] ordered = indexes.clone();
+        Arrays.sort(ordered);
+        for (int i = 0; i < ordered.length; i++) {
+            if (i > 0 && ordered[i] == ordered[i - 1]) {
+                continue;
+            }
+            if (!tryClaim(ordered[i])) {
+                for (int j = 0; j < i; j++) {
+                    if (j == 0 || ordered[j] != ordered[j - 1]) {
+                        release(ordered[j]);
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Release a seat.
+     *
+     * @param index the seat index
+     * @return true if the seat was claimed before the call
+     */
+    public boolean release(int index) {
+        checkIndex(index);
+        int word = index >>> WORD_SHIFT;
+        long mask = 1L << index;
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current & ~mask)) {
+                claimed.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean isClaimed(int index) {
+        checkIndex(index);
+        return (words.get(index >>> WORD_SHIFT) & (1L << index)) != 0;
+    }
+
+    public int claimedCount() {
+        return claimed.get();
+    }
+
+    public int freeCount() {
+        return size - claimed.get();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Seat index " + index + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel for scheduling many deadlines with O(1) insertion.
+ * <p>
+ * Time is cut into ticks of {@code tickMillis}; an item due at tick {@code t} is stored in
+ * bucket {@code t mod wheelSize}. Advancing the wheel only visits the buckets of the ticks
+ * that elapsed since the last call and hands back the items whose deadline has passed, so
+ * the cost of a tick is proportional to the items actually due, not to everything scheduled.
+ * Items more than one revolution away simply stay in their bucket until their tick comes round.
+ *
+ * @param <T> the type of scheduled items
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<T>>[] buckets;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  the length of one tick in milliseconds
+     * @param wheelSize   the number of buckets, rounded up to a power of two
+     * @param startMillis the current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size out of range: " + wheelSize);
+        }
+        int buckets = Integer.highestOneBit(wheelSize - 1) << 1;
+        buckets = Math.max(buckets, 1);
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.buckets = new List[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an item. Items whose deadline has already passed are handed back by the next {@link #advance}.
+     *
+     * @param item           the item to schedule
+     * @param deadlineMillis the deadline in epoch milliseconds
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        buckets[(int) (tick & mask)].add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis} and remove every item that is due.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the items whose deadline is at or before {@code nowMillis}, empty if none
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+        List<T> due = new ArrayList<>();
+        if (size > 0) {
+            long steps = Math.min(targetTick - currentTick, buckets.length);
+            for (long step = 1; step <= steps; step++) {
+                buckets[(int) ((currentTick + step) & mask)].removeIf(entry -> {
+                    if (entry.tick() <= targetTick) {
+                        due.add(entry.item());
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            size -= due.size();
+        }
+        currentTick = targetTick;
+        return due;
+    }
+
+    /**
+     * @return the number of items still scheduled
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
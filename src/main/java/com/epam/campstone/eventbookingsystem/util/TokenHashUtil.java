@@ -0,0 +1,25 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class TokenHashUtil {
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Hash a token so it can be used as a lookup key without keeping the token itself
+     *
+     * @param token the token
+     * @return the hex-encoded SHA-256 digest of the token
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
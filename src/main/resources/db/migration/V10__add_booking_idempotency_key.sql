@@ -0,0 +1,6 @@
+ALTER TABLE booking
+    ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_user_idempotency_key
+    ON booking (user_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,8 @@
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE booking
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE event_seat
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
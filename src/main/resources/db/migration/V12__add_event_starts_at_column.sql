@@ -0,0 +1,8 @@
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS starts_at TIMESTAMP GENERATED ALWAYS AS (event_date + start_time) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_event_status_starts_at
+    ON event (status_id, starts_at);
+
+CREATE INDEX IF NOT EXISTS idx_event_created_by_starts_at
+    ON event (created_by, starts_at);
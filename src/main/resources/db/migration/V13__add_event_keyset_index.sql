@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_event_date_time_id
+    ON event (event_date, start_time, id);
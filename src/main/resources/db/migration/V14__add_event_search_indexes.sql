@@ -0,0 +1,19 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Search by type, read in keyset order
+CREATE INDEX IF NOT EXISTS idx_event_type_date_time_id
+    ON event (type_id, event_date, start_time, id);
+
+-- Search by city goes through its venues; replaces the plain venue_id index
+CREATE INDEX IF NOT EXISTS idx_event_venue_date_time_id
+    ON event (venue_id, event_date, start_time, id);
+
+DROP INDEX IF EXISTS idx_event_venue_id;
+
+-- Price range
+CREATE INDEX IF NOT EXISTS idx_event_min_price_date
+    ON event (min_price, event_date);
+
+-- Case-insensitive substring match on the title
+CREATE INDEX IF NOT EXISTS idx_event_title_trgm
+    ON event USING gin (title gin_trgm_ops);
@@ -0,0 +1,64 @@
+-- Full-text document of an event: title, venue name and description, weighted in that order.
+-- The 'simple' configuration skips stemming and stop words so names and prefixes match as typed.
+CREATE OR REPLACE FUNCTION event_search_document(title TEXT, venue_name TEXT, description TEXT)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE AS
+$$
+SELECT setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+           || setweight(to_tsvector('simple', coalesce(venue_name, '')), 'B')
+           || setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+$$;
+
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+UPDATE event e
+SET search_vector = event_search_document(e.title, v.name, e.description)
+FROM venue v
+WHERE v.id = e.venue_id;
+
+-- Keep the document current as events are created and edited
+CREATE OR REPLACE FUNCTION event_search_vector_refresh()
+    RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.search_vector := event_search_document(NEW.title,
+                                               (SELECT name FROM venue WHERE id = NEW.venue_id),
+                                               NEW.description);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_event_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, venue_id
+    ON event
+    FOR EACH ROW
+EXECUTE FUNCTION event_search_vector_refresh();
+
+-- ...and when a venue is renamed
+CREATE OR REPLACE FUNCTION venue_event_search_vector_refresh()
+    RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE event
+    SET search_vector = event_search_document(title, NEW.name, description)
+    WHERE venue_id = NEW.id;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_venue_event_search_vector
+    AFTER UPDATE OF name
+    ON venue
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name)
+EXECUTE FUNCTION venue_event_search_vector_refresh();
+
+CREATE INDEX IF NOT EXISTS idx_event_search_vector
+    ON event USING gin (search_vector);
+
+-- Title substring search is superseded by full-text search
+DROP INDEX IF EXISTS idx_event_title_trgm;
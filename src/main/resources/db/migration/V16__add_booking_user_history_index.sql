@@ -0,0 +1,6 @@
+-- A user's bookings per status, newest first: the My Bookings page reads each tab
+-- as a range of this index. It covers the (user_id, booking_status_id) prefix too.
+CREATE INDEX IF NOT EXISTS idx_booking_user_status_created
+    ON booking (user_id, booking_status_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_booking_user_status;
@@ -0,0 +1,52 @@
+-- Refresh tokens are looked up by the SHA-256 hash of the token instead of the token itself,
+-- through a unique index. Existing tokens keep working: their hash is computed in place.
+ALTER TABLE refresh_tokens
+    RENAME COLUMN token TO token_hash;
+
+UPDATE refresh_tokens
+SET token_hash = encode(sha256(convert_to(token_hash, 'UTF8')), 'hex');
+
+ALTER TABLE refresh_tokens
+    ALTER COLUMN token_hash TYPE VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_tokens_token_hash
+    ON refresh_tokens (token_hash);
+
+-- Tokens rotated from one login form a family; a used token is kept until it expires so that
+-- presenting it again revokes the whole family.
+ALTER TABLE refresh_tokens
+    ADD COLUMN IF NOT EXISTS family_id UUID,
+    ADD COLUMN IF NOT EXISTS used_at   TIMESTAMP;
+
+UPDATE refresh_tokens
+SET family_id = gen_random_uuid()
+WHERE family_id IS NULL;
+
+ALTER TABLE refresh_tokens
+    ALTER COLUMN family_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family
+    ON refresh_tokens (family_id);
+
+-- A user used to have a single refresh token. On databases upgraded under ddl-auto=update,
+-- Hibernate added a unique constraint on user_id for that one-to-one mapping, under a generated
+-- name. Rotation keeps the used token next to its successor and every login adds a token, so any
+-- single-column unique constraint on user_id is dropped, whatever it is called.
+DO
+$$
+    DECLARE
+        user_key RECORD;
+    BEGIN
+        FOR user_key IN
+            SELECT c.conname
+            FROM pg_constraint c
+                     JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.conrelid = 'refresh_tokens'::regclass
+              AND c.contype = 'u'
+              AND array_length(c.conkey, 1) = 1
+              AND a.attname = 'user_id'
+            LOOP
+                EXECUTE format('ALTER TABLE refresh_tokens DROP CONSTRAINT %I', user_key.conname);
+            END LOOP;
+    END
+$$;
@@ -0,0 +1,4 @@
+-- The refresh-token sweeper deletes the oldest expired tokens first as a range of this index,
+-- so a sweep never scans the live tokens.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expiry_date
+    ON refresh_tokens (expiry_date);
@@ -0,0 +1,14 @@
+ALTER TABLE event_seat
+    ADD COLUMN IF NOT EXISTS status_id INT REFERENCES seat_status (id);
+
+ALTER TABLE event_seat
+    ADD COLUMN IF NOT EXISTS booking_id INT REFERENCES booking (id) ON DELETE SET NULL;
+
+UPDATE event_seat
+SET status_id = (SELECT id FROM seat_status WHERE name = 'AVAILABLE')
+WHERE status_id IS NULL;
+
+ALTER TABLE event_seat
+    ALTER COLUMN status_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_event_seat_booking_id ON event_seat (booking_id) WHERE booking_id IS NOT NULL;
@@ -0,0 +1,12 @@
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS capacity_shards INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS event_capacity_shard
+(
+    event_id  INT NOT NULL,
+    shard_no  INT NOT NULL,
+    available INT NOT NULL,
+    PRIMARY KEY (event_id, shard_no),
+    FOREIGN KEY (event_id) REFERENCES event (id) ON DELETE CASCADE,
+    CONSTRAINT check_shard_available CHECK (available >= 0)
+);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_booking_status_expires_at
+    ON booking (booking_status_id, expires_at)
+    WHERE expires_at IS NOT NULL;
@@ -0,0 +1,2 @@
+-- Each sequence value reserves a block of 50 seat IDs (pooled-lo), see SeatBatchRepository
+ALTER SEQUENCE seat_id_seq INCREMENT BY 50;
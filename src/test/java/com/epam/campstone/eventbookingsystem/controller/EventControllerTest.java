@@ -1,21 +1,22 @@
 package com.epam.campstone.eventbookingsystem.controller;
 
 import ch.qos.logback.core.testUtil.RandomUtil;
+import com.epam.campstone.eventbookingsystem.dto.CursorPageDto;
 import com.epam.campstone.eventbookingsystem.handler.GlobalExceptionHandler;
 import com.epam.campstone.eventbookingsystem.model.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
+import com.epam.campstone.eventbookingsystem.service.api.SeatInventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +28,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -45,16 +47,21 @@ class EventControllerTest {
     private CityService cityService;
 
     @Mock
-    private UserService userService;
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
 
     @InjectMocks
     private EventController eventController;
 
     private MockMvc mockMvc;
-    private List<Event> events;
+    private Event event;
+    private List<EventCardView> events;
     private List<City> cities;
     private List<String> cityNames;
     private User testUser;
+    private AuthenticatedUser principal;
     private Country testCountry;
     private Authentication auth;
 
@@ -83,26 +90,25 @@ class EventControllerTest {
     @Test
     void listEvents_ShouldReturnPaginatedEvents() throws Exception {
         // Given
-        Page<Event> eventPage = new PageImpl<>(events);
-        when(eventService.findEvents(any(Pageable.class))).thenReturn(eventPage);
+        CursorPageDto<EventCardView> eventPage = new CursorPageDto<>(events, "next", 12L);
+        when(eventService.findEvents(null, 10)).thenReturn(eventPage);
 
         // When/Then
         mockMvc.perform(get("/events"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("events/list"))
                 .andExpect(model().attributeExists("events"))
-                .andExpect(model().attribute("currentPage", 0))
-                .andExpect(model().attribute("totalPages", 1))
+                .andExpect(model().attribute("nextCursor", "next"))
+                .andExpect(model().attribute("hasNext", true))
                 .andExpect(model().attribute("totalItems", 12L));
 
-        verify(eventService, times(1)).findEvents(any(Pageable.class));
+        verify(eventService, times(1)).findEvents(null, 10);
     }
 
     @Test
     void viewEvent_WhenEventExists_ShouldReturnEventView() throws Exception {
         // Given
-        Event event = events.get(0);
-        when(eventService.findById(1L)).thenReturn(Optional.of(event));
+        when(eventService.findWithDetailsById(1L)).thenReturn(Optional.of(event));
 
         // When/Then
         mockMvc.perform(get("/events/1").principal(auth))
@@ -111,13 +117,13 @@ class EventControllerTest {
                 .andExpect(model().attributeExists("event"))
                 .andExpect(model().attribute("event", event));
 
-        verify(eventService, times(1)).findById(1L);
+        verify(eventService, times(1)).findWithDetailsById(1L);
     }
 
     @Test
     void viewEvent_WhenEventNotFound_ShouldReturnErrorView() throws Exception {
         // Given
-        when(eventService.findById(999L)).thenReturn(Optional.empty());
+        when(eventService.findWithDetailsById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         mockMvc.perform(get("/events/999").principal(auth))
@@ -125,23 +131,22 @@ class EventControllerTest {
                 .andExpect(view().name("error/not-found"))
                 .andExpect(model().attributeExists("errorMessage"));
 
-        verify(eventService, times(1)).findById(999L);
+        verify(eventService, times(1)).findWithDetailsById(999L);
     }
 
     @Test
     void searchEvents_WithFilters_ShouldReturnFilteredResults() throws Exception {
         // Given
-        Page<Event> eventPage = new PageImpl<>(events);
-        when(eventService.searchEvents(any(), any(Pageable.class))).thenReturn(eventPage);
-        when(userService.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(cityService.findByCountry(testCountry)).thenReturn(cities);
+        CursorPageDto<EventCardView> eventPage = new CursorPageDto<>(events, null, null);
+        when(eventService.searchEvents(any(), any(), anyInt(), anyBoolean())).thenReturn(eventPage);
+        when(currentUserService.findByEmail(anyString())).thenReturn(Optional.of(principal));
+        when(cityService.findByCountryId(testCountry.getId())).thenReturn(cities);
 
         // When/Then
         mockMvc.perform(get("/events/search").principal(auth)
                         .param("location", "New York")
                         .param("date", "2025-12-31")
                         .param("category", "CONCERT")
-                        .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("home/dashboard"))
@@ -149,17 +154,17 @@ class EventControllerTest {
                 .andExpect(model().attributeExists("cities"))
                 .andExpect(model().attribute("cities", cityNames));
 
-        verify(eventService, times(1)).searchEvents(any(), any(Pageable.class));
-        verify(cityService, times(1)).findByCountry(testCountry);
+        verify(eventService, times(1)).searchEvents(any(), isNull(), eq(10), eq(false));
+        verify(cityService, times(1)).findByCountryId(testCountry.getId());
     }
 
     @Test
     void listAllEvents_WithFilters_ShouldReturnFilteredEvents() throws Exception {
         // Given
-        Page<Event> eventPage = new PageImpl<>(events);
-        when(eventService.searchEvents(any(), any(Pageable.class))).thenReturn(eventPage);
-        when(cityService.findByCountry(any())).thenReturn(cities);
-        when(userService.findByEmail(anyString())).thenReturn(Optional.of(testUser));
+        CursorPageDto<EventCardView> eventPage = new CursorPageDto<>(events, null, null);
+        when(eventService.searchEvents(any(), any(), anyInt(), anyBoolean())).thenReturn(eventPage);
+        when(cityService.findByCountryId(any())).thenReturn(cities);
+        when(currentUserService.findByEmail(anyString())).thenReturn(Optional.of(principal));
 
         // When/Then
         mockMvc.perform(get("/events/all")
@@ -167,7 +172,6 @@ class EventControllerTest {
                         .param("category", "CONCERT")
                         .param("location", "1")
                         .param("sortBy", "name")
-                        .param("page", "0")
                         .param("size", "12"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("home/dashboard"))
@@ -186,27 +190,26 @@ class EventControllerTest {
     }
 
     private void initEvents() {
+        event = new Event();
+        event.setId(1L);
+        event.setTitle("Event");
+        event.setEventDate(LocalDate.now());
+        event.setStartTime(LocalTime.of(18, 0));
+        event.setMinPrice(BigDecimal.valueOf(50L));
+        event.setCreatedBy(testUser);
+
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
         events = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
-            Event event = new Event();
-            event.setId((long) RandomUtil.getPositiveInt());
-            event.setTitle("Event " + i);
-            event.setDescription("Description " + i);
-            event.setEventDate(LocalDate.now().plusDays(i));
-            event.setStartTime(LocalTime.of(18, 0));
-            Venue venue = Mockito.mock(Venue.class);
-            venue.setName("Venue " + i);
-            venue.setId((long) RandomUtil.getPositiveInt());
-            venue.setCity(cities.get(i % 2));
-
-            event.setVenue(venue);
-            event.setAvailableAttendeesCapacity(100);
-            event.setMinPrice(BigDecimal.valueOf(50L));
-            event.setCreatedBy(testUser);
-            events.add(event);
+            events.add(projectionFactory.createProjection(EventCardView.class, Map.of(
+                    "id", (long) RandomUtil.getPositiveInt(),
+                    "title", "Event " + i,
+                    "eventDate", LocalDate.now().plusDays(i),
+                    "startTime", LocalTime.of(18, 0),
+                    "minPrice", BigDecimal.valueOf(50L),
+                    "venueName", "Venue " + i,
+                    "cityName", cities.get(i % 2).getName())));
         }
-        events.add(new Event());
-        events.add(new Event());
     }
 
     private void initCities() {
@@ -237,5 +240,7 @@ class EventControllerTest {
         userRole.setName("ROLE_USER");
         testUser.setRole(userRole);
         testUser.setCountry(testCountry);
+
+        principal = new AuthenticatedUser(1L, "test@example.com", "Test", "User", "ROLE_USER", testCountry.getId(), true);
     }
 }
@@ -2,9 +2,11 @@ package com.epam.campstone.eventbookingsystem.controller;
 
 import ch.qos.logback.core.testUtil.RandomUtil;
 import com.epam.campstone.eventbookingsystem.model.*;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
 import com.epam.campstone.eventbookingsystem.service.api.CityService;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.EventService;
-import com.epam.campstone.eventbookingsystem.service.api.UserService;
 import com.epam.campstone.eventbookingsystem.util.PasswordUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -26,6 +29,7 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -40,7 +44,7 @@ class HomeControllerTest {
     private EventService eventService;
 
     @Mock
-    private UserService userService;
+    private CurrentUserService currentUserService;
 
     @Mock
     private CityService cityService;
@@ -49,9 +53,9 @@ class HomeControllerTest {
     private HomeController homeController;
 
     private MockMvc mockMvc;
-    private List<Event> events;
+    private List<EventCardView> events;
     private List<City> cities;
-    private User testUser;
+    private AuthenticatedUser testUser;
     private Country testCountry;
 
     @BeforeEach
@@ -73,14 +77,14 @@ class HomeControllerTest {
 
         verify(eventService, never()).getFeaturedEventsByUser(anyInt(), anyLong());
         verify(cityService, never()).findAll();
-        verify(userService, never()).findByEmail(anyString());
+        verify(currentUserService, never()).findByEmail(anyString());
     }
 
     @Test
     void home_WhenAuthenticated_ShouldIncludeUserInfo() throws Exception {
-        when(userService.findByEmail("test@example.com")).thenReturn(java.util.Optional.of(testUser));
+        when(currentUserService.findByEmail("test@example.com")).thenReturn(java.util.Optional.of(testUser));
         when(eventService.getFeaturedEvents(anyInt())).thenReturn(events);
-        when(cityService.findByCountry(testCountry)).thenReturn(cities);
+        when(cityService.findByCountryId(testCountry.getId())).thenReturn(cities);
         try (MockedStatic<PasswordUtil> passwordUtilMock = Mockito.mockStatic(PasswordUtil.class)) {
 
             passwordUtilMock.when(() -> PasswordUtil.hashPassword(anyString(), anyString()))
@@ -99,15 +103,15 @@ class HomeControllerTest {
                     .andExpect(model().attributeExists("user"))
                     .andExpect(model().attribute("user", testUser));
 
-            verify(userService, times(1)).findByEmail("test@example.com");
+            verify(currentUserService, times(1)).findByEmail("test@example.com");
             verify(eventService, times(1)).getFeaturedEvents(anyInt());
-            verify(cityService, times(1)).findByCountry(testCountry);
+            verify(cityService, times(1)).findByCountryId(testCountry.getId());
         }
     }
 
     @Test
     void home_WhenUserNotFound_ShouldHandleException() {
-        when(userService.findByEmail("nonexistent@example.com")).thenReturn(java.util.Optional.empty());
+        when(currentUserService.findByEmail("nonexistent@example.com")).thenReturn(java.util.Optional.empty());
 
         Authentication auth = new UsernamePasswordAuthenticationToken("nonexistent@example.com", "password", Collections.emptyList());
 
@@ -120,7 +124,7 @@ class HomeControllerTest {
         assertEquals("User with email nonexistent@example.com not found",
                 exception.getCause().getMessage());
 
-        verify(userService, times(1)).findByEmail("nonexistent@example.com");
+        verify(currentUserService, times(1)).findByEmail("nonexistent@example.com");
     }
 
     private void initCountries() {
@@ -130,27 +134,17 @@ class HomeControllerTest {
     }
 
     private void initEvents() {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
         events = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
-            Event event = new Event();
-            event.setId((long) RandomUtil.getPositiveInt());
-            event.setTitle("Event " + i);
-            event.setDescription("Description " + i);
-            event.setEventDate(LocalDate.now().plusDays(i));
-            event.setStartTime(LocalTime.of(18, 0));
-            Venue venue = Mockito.mock(Venue.class);
-            venue.setName("Venue " + i);
-            venue.setId((long) RandomUtil.getPositiveInt());
-            venue.setCity(cities.get(i % 2));
-
-            event.setVenue(venue);
-            event.setAvailableAttendeesCapacity(100);
-            event.setMinPrice(BigDecimal.valueOf(50L));
-            event.setCreatedBy(testUser);
-            events.add(event);
+            events.add(projectionFactory.createProjection(EventCardView.class, Map.of(
+                    "id", (long) RandomUtil.getPositiveInt(),
+                    "title", "Event " + i,
+                    "eventDate", LocalDate.now().plusDays(i),
+                    "startTime", LocalTime.of(18, 0),
+                    "minPrice", BigDecimal.valueOf(50L),
+                    "venueName", "Venue " + i)));
         }
-        events.add(new Event());
-        events.add(new Event());
     }
 
     private void initCities() {
@@ -169,16 +163,7 @@ class HomeControllerTest {
     }
 
     private void initValidUser() {
-        testUser = new User();
-        testUser.setId(1L);
-        testUser.setEmail("test@example.com");
-        testUser.setFirstName("Test");
-        testUser.setLastName("User");
-
-        UserRole userRole = new UserRole();
-        userRole.setName("ROLE_USER");
-        testUser.setRole(userRole);
-        testUser.setCountry(testCountry);
+        testUser = new AuthenticatedUser(1L, "test@example.com", "Test", "User", "ROLE_USER", testCountry.getId(), true);
     }
 
 }
@@ -5,6 +5,8 @@ import com.epam.campstone.eventbookingsystem.dto.UserProfileDto;
 import com.epam.campstone.eventbookingsystem.model.Country;
 import com.epam.campstone.eventbookingsystem.model.User;
 import com.epam.campstone.eventbookingsystem.model.UserRole;
+import com.epam.campstone.eventbookingsystem.security.AuthenticatedUser;
+import com.epam.campstone.eventbookingsystem.service.api.CurrentUserService;
 import com.epam.campstone.eventbookingsystem.service.api.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,11 +34,15 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private CurrentUserService currentUserService;
+
     @InjectMocks
     private UserController userController;
 
     private MockMvc mockMvc;
     private User testUser;
+    private AuthenticatedUser principal;
     private UserProfileDto testProfileDto;
     private Country testCountry;
     private Authentication auth;
@@ -65,6 +71,7 @@ class UserControllerTest {
     @WithUserDetails("test@example.com")
     void showProfile_WhenUserExists_ShouldReturnProfileView() throws Exception {
         // Given
+        when(currentUserService.findByEmail(anyString())).thenReturn(Optional.of(principal));
         when(userService.findByEmail(anyString())).thenReturn(Optional.of(testUser));
 
         // When/Then
@@ -75,7 +82,7 @@ class UserControllerTest {
                 .andExpect(view().name("user/profile"))
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("userProfile"))
-                .andExpect(model().attribute("user", testUser))
+                .andExpect(model().attribute("user", principal))
                 .andExpect(model().attribute("userProfile", testProfileDto));
 
         verify(userService, times(1)).findByEmail(anyString());
@@ -84,7 +91,7 @@ class UserControllerTest {
     @Test
     void showProfile_WhenUserNotFound_ShouldThrowException() throws Exception {
         // Given
-        when(userService.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(currentUserService.findByEmail(anyString())).thenReturn(Optional.empty());
 
         // When/Then
         mockMvc.perform(get("/user/profile")
@@ -93,7 +100,8 @@ class UserControllerTest {
                 .andExpect(view().name("error/not-found"))
                 .andExpect(model().attributeExists("errorMessage"));
 
-        verify(userService, times(1)).findByEmail(anyString());
+        verify(currentUserService, times(1)).findByEmail(anyString());
+        verify(userService, never()).findByEmail(anyString());
     }
 
     private void initCountries() {
@@ -113,6 +121,8 @@ class UserControllerTest {
         userRole.setName("ROLE_USER");
         testUser.setRole(userRole);
         testUser.setCountry(testCountry);
+
+        principal = new AuthenticatedUser(1L, "test@example.com", "Test", "User", "ROLE_USER", testCountry.getId(), true);
     }
 
     private void initUserDto() {
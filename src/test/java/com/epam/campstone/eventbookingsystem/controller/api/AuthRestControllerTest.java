@@ -3,6 +3,7 @@ package com.epam.campstone.eventbookingsystem.controller.api;
 import com.epam.campstone.eventbookingsystem.dto.JwtResponseDto;
 import com.epam.campstone.eventbookingsystem.dto.LoginRequestDto;
 import com.epam.campstone.eventbookingsystem.dto.TokenRefreshRequest;
+import com.epam.campstone.eventbookingsystem.dto.TokenRefreshResponse;
 import com.epam.campstone.eventbookingsystem.exception.AuthenticationException;
 import com.epam.campstone.eventbookingsystem.service.api.LoginService;
 import com.epam.campstone.eventbookingsystem.service.api.RefreshTokenService;
@@ -12,7 +13,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -27,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -58,7 +59,6 @@ class AuthRestControllerTest {
                 Collections.singletonList("ROLE_USER"));
         tokenRefreshRequest = new TokenRefreshRequest("refreshToken");
 
-        MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders.standaloneSetup(authRestController).build();
 
     }
@@ -86,6 +86,21 @@ class AuthRestControllerTest {
 
     }
 
+    @Test
+    void refreshToken_WithValidToken_ReturnsRotatedTokens() throws Exception {
+        when(loginService.refreshToken("refreshToken"))
+                .thenReturn(new TokenRefreshResponse("newJwtToken", "newRefreshToken"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.valueOf("application/json"))
+                        .content(objectMapper.writeValueAsString(tokenRefreshRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("newJwtToken"))
+                .andExpect(jsonPath("$.refreshToken").value("newRefreshToken"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"));
+    }
+
     @Test
     void logoutUser_WithNullRequest_ThrowsException() {
         // Act & Assert
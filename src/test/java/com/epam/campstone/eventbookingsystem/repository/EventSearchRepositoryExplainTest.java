@@ -0,0 +1,171 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import com.epam.campstone.eventbookingsystem.dto.EventCursor;
+import com.epam.campstone.eventbookingsystem.repository.EventSearchRepository.Criteria;
+import com.epam.campstone.eventbookingsystem.repository.EventSearchRepository.SearchSql;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the search indexes: every filter shape must be planned without a sequential scan of
+ * {@code event} once the table is large enough for the planner to prefer an index.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(EventSearchRepository.class)
+class EventSearchRepositoryExplainTest {
+
+    private static final int EVENT_COUNT = 50_000;
+    private static final int PAGE = 21;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventSearchRepository eventSearchRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO country (name) VALUES ('Searchland')");
+        jdbcTemplate.update("INSERT INTO app_user (first_name, last_name, email, role_id, country_id) " +
+                "SELECT 'Search', 'User', 'search@example.com', 2, id FROM country WHERE name = 'Searchland'");
+        jdbcTemplate.update("INSERT INTO city (name, country_id) " +
+                "SELECT 'Search City ' || g, c.id FROM generate_series(1, 10) g, country c WHERE c.name = 'Searchland'");
+        jdbcTemplate.update("INSERT INTO venue (name, city_id, address) " +
+                "SELECT 'Venue ' || g, c.id, 'Street ' || g FROM generate_series(1, 50) g " +
+                "JOIN city c ON c.name = 'Search City ' || (g % 10 + 1)");
+        jdbcTemplate.update("INSERT INTO event (title, event_date, start_time, status_id, type_id, venue_id, min_price, created_by) " +
+                "SELECT CASE WHEN g % 500 = 0 THEN 'Jazz Night ' || g ELSE 'Event ' || g END, " +
+                "CURRENT_DATE + (g % 730), TIME '08:00' + (g % 12) * INTERVAL '1 hour', " +
+                "(SELECT MIN(id) FROM event_status), (SELECT MIN(id) FROM event_type) + g % 6, " +
+                "(SELECT MIN(id) FROM venue WHERE name LIKE 'Venue %') + g % 50, g % 200, " +
+                "(SELECT id FROM app_user WHERE email = 'search@example.com') " +
+                "FROM generate_series(1, ?) g", EVENT_COUNT);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void selectIds_WithoutFilters_ShouldUseIndex() throws Exception {
+        assertNoSeqScanOnEvent(criteria(null, null, null, null, null, null, null), null);
+    }
+
+    @Test
+    void selectIds_AfterCursor_ShouldUseIndex() throws Exception {
+        EventCursor after = new EventCursor(LocalDate.now().plusDays(300), LocalTime.of(12, 0), 25_000L);
+        assertNoSeqScanOnEvent(criteria(null, null, null, null, null, null, null), after);
+    }
+
+    @Test
+    void selectIds_ByType_ShouldUseIndex() throws Exception {
+        Long typeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM event_type", Long.class);
+        assertNoSeqScanOnEvent(criteria(null, null, null, typeId, null, null, null), null);
+    }
+
+    @Test
+    void selectIds_ByCity_ShouldUseIndex() throws Exception {
+        Integer cityId = jdbcTemplate.queryForObject("SELECT id FROM city WHERE name = 'Search City 1'", Integer.class);
+        assertNoSeqScanOnEvent(criteria(null, null, cityId, null, null, null, null), null);
+    }
+
+    @Test
+    void selectIds_ByDateRange_ShouldUseIndex() throws Exception {
+        LocalDate from = LocalDate.now().plusDays(100);
+        assertNoSeqScanOnEvent(criteria(from, from.plusDays(7), null, null, null, null, null), null);
+    }
+
+    @Test
+    void selectIds_ByText_ShouldUseIndex() throws Exception {
+        assertNoSeqScanOnEvent(criteria(null, null, null, null, null, null, "jazz"), null);
+    }
+
+    @Test
+    void selectIds_ByPrice_ShouldUseIndex() throws Exception {
+        assertNoSeqScanOnEvent(criteria(null, null, null, null, new BigDecimal("195"), new BigDecimal("199"), null), null);
+    }
+
+    @Test
+    void findIds_ShouldReturnMatchesInChronologicalOrder() {
+        Criteria jazz = criteria(LocalDate.now(), null, null, null, null, null, "JAZZ");
+
+        List<Long> firstPage = eventSearchRepository.findIds(jazz, null, 5);
+        List<Long> all = eventSearchRepository.findIds(jazz, null, EVENT_COUNT);
+
+        assertEquals(EVENT_COUNT / 500, all.size());
+        assertEquals(all.size(), eventSearchRepository.count(jazz));
+        assertEquals(all.subList(0, 5), firstPage);
+    }
+
+    @Test
+    void findIds_AfterVenueRename_ShouldMatchNewNameByPrefix() {
+        jdbcTemplate.update("UPDATE venue SET name = 'Blue Note' WHERE name = 'Venue 1'");
+
+        List<Long> ids = eventSearchRepository.findIds(
+                criteria(LocalDate.now(), null, null, null, null, null, "blue no"), null, EVENT_COUNT);
+
+        // Each of the 50 venues hosts every 50th event
+        assertEquals(EVENT_COUNT / 50, ids.size());
+    }
+
+    @Test
+    void findIds_WithoutDateFrom_ShouldSkipEventsThatHaveStarted() {
+        jdbcTemplate.update("UPDATE event SET event_date = CURRENT_DATE - 1 WHERE title = 'Jazz Night 500'");
+        Long past = jdbcTemplate.queryForObject("SELECT id FROM event WHERE title = 'Jazz Night 500'", Long.class);
+
+        Criteria upcoming = criteria(null, null, null, null, null, null, "jazz");
+        List<Long> upcomingIds = eventSearchRepository.findIds(upcoming, null, EVENT_COUNT);
+        List<Long> sinceYesterday = eventSearchRepository.findIds(
+                criteria(LocalDate.now().minusDays(1), null, null, null, null, null, "jazz"), null, EVENT_COUNT);
+
+        assertFalse(upcomingIds.isEmpty());
+        assertFalse(upcomingIds.contains(past));
+        assertEquals(upcomingIds.size(), eventSearchRepository.count(upcoming));
+        assertTrue(sinceYesterday.contains(past));
+    }
+
+    private void assertNoSeqScanOnEvent(Criteria criteria, EventCursor after) throws Exception {
+        SearchSql query = eventSearchRepository.selectIds(criteria, after, PAGE);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class,
+                query.args().toArray());
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(objectMapper.readTree(plan), seqScans);
+        assertFalse(seqScans.contains("event"), () -> "Sequential scan on event for " + query.sql() + "\n" + plan);
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.forEach(child -> collectSeqScans(child, relations));
+    }
+
+    private static Criteria criteria(LocalDate dateFrom, LocalDate dateTo, Integer cityId, Long typeId,
+                                     BigDecimal minPrice, BigDecimal maxPrice, String text) {
+        return new Criteria(dateFrom, dateTo, cityId, typeId, minPrice, maxPrice, text);
+    }
+}
@@ -0,0 +1,190 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import com.epam.campstone.eventbookingsystem.model.Event;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingStatusPageView;
+import com.epam.campstone.eventbookingsystem.repository.projection.BookingSummaryView;
+import com.epam.campstone.eventbookingsystem.repository.projection.EventCardView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that the queries behind the dashboard, event list, search, booking and single-event pages
+ * read everything their templates show in a single statement. The second-level cache is off, so any
+ * extra load would show up as an extra statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class FetchPlanStatementCountTest {
+
+    private static final String EMAIL = "fetch-plan@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO country (name) VALUES ('Fetchland')");
+        jdbcTemplate.update("INSERT INTO app_user (first_name, last_name, email, role_id, country_id) " +
+                "SELECT 'Fetch', 'Plan', ?, 2, id FROM country WHERE name = 'Fetchland'", EMAIL);
+        jdbcTemplate.update("INSERT INTO city (name, country_id) " +
+                "SELECT 'Fetch City ' || g, c.id FROM generate_series(1, 5) g, country c WHERE c.name = 'Fetchland'");
+        jdbcTemplate.update("INSERT INTO venue (name, city_id, address) " +
+                "SELECT 'Fetch Venue ' || g, c.id, 'Street ' || g FROM generate_series(1, 10) g " +
+                "JOIN city c ON c.name = 'Fetch City ' || (g % 5 + 1)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM app_user WHERE email = ?", Long.class, EMAIL);
+        jdbcTemplate.update("INSERT INTO event (title, event_date, start_time, status_id, type_id, venue_id, min_price, created_by) " +
+                "SELECT 'Fetch Event ' || g, CURRENT_DATE + 1 + g, TIME '19:00', " +
+                "(SELECT id FROM event_status WHERE name = 'PLANNED'), (SELECT MIN(id) FROM event_type) + g % 6, " +
+                "(SELECT MIN(id) FROM venue WHERE name LIKE 'Fetch Venue %') + g % 10, 10, ? " +
+                "FROM generate_series(1, 20) g", userId);
+        jdbcTemplate.update("INSERT INTO seat (venue_id, row_number, seat_number, base_price, status_id) " +
+                "SELECT venue_id, 1, 1, 10, (SELECT id FROM seat_status WHERE name = 'PURCHASED') " +
+                "FROM event WHERE title LIKE 'Fetch Event %'");
+        jdbcTemplate.update("INSERT INTO booking (booking_reference, user_id, event_id, seat_id, booking_status_id, price, quantity) " +
+                "SELECT 'FP' || e.id, ?, e.id, (SELECT MIN(s.id) FROM seat s WHERE s.venue_id = e.venue_id), " +
+                "(SELECT id FROM booking_status WHERE name = 'PURCHASED'), 10, 1 " +
+                "FROM event e WHERE e.title LIKE 'Fetch Event %'", userId);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findUpcomingEvents_ShouldLoadPageInOneStatement() {
+        List<EventCardView> events = eventRepository.findUpcomingEvents(PageRequest.of(0, 10));
+
+        assertEventCards(events, 10);
+    }
+
+    @Test
+    void findUpcomingEventsOfUser_ShouldLoadPageInOneStatement() {
+        List<EventCardView> events = eventRepository.findUpcomingEvents(PageRequest.of(0, 10), userId);
+
+        assertEventCards(events, 10);
+    }
+
+    @Test
+    void findFirstEvents_ShouldLoadPageInOneStatement() {
+        List<EventCardView> events = eventRepository.findFirstEvents(Limit.of(10));
+
+        assertEventCards(events, 10);
+    }
+
+    @Test
+    void findCardsByIdIn_ShouldLoadSearchResultsInOneStatement() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM event WHERE title LIKE 'Fetch Event %'", Long.class);
+
+        List<EventCardView> events = eventRepository.findCardsByIdIn(ids);
+
+        assertEventCards(events, ids.size());
+    }
+
+    @Test
+    void findWithDetailsById_ShouldLoadEventPageInOneStatement() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM event WHERE title LIKE 'Fetch Event %'", Long.class);
+
+        Event event = eventRepository.findWithDetailsById(id).orElseThrow();
+
+        assertNotNull(event.getStatus().getName());
+        assertNotNull(event.getType().getDisplayName());
+        assertNotNull(event.getVenue().getName());
+        assertNotNull(event.getVenue().getCity().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByUserEmailOrderByBookingDateDesc_ShouldLoadListInOneStatement() {
+        List<BookingSummaryView> bookings = bookingRepository.findByUserEmailOrderByBookingDateDesc(EMAIL);
+
+        assertBookingRows(bookings);
+    }
+
+    @Test
+    void findByUserFilteredByStatus_ShouldLoadListInOneStatement() {
+        List<BookingSummaryView> bookings = bookingRepository.findByUserFilteredByStatus(EMAIL, "PURCHASED");
+
+        assertBookingRows(bookings);
+    }
+
+    @Test
+    void findStatusPages_ShouldLoadBothTabsInOneStatement() {
+        List<BookingStatusPageView> rows = bookingRepository.findStatusPages(userId,
+                List.of("TEMPORARY_HOLD", "PURCHASED"), 5, 10);
+
+        // Ten purchased bookings, then the total-only row of the empty hold tab
+        assertEquals(11, rows.size());
+        rows.subList(0, 10).forEach(row -> {
+            assertEquals("PURCHASED", row.getStatusName());
+            assertEquals(20L, row.getStatusTotal());
+            assertNotNull(row.getId());
+            assertNotNull(row.getCreatedAt());
+            assertNotNull(row.getEventDate());
+            assertNotNull(row.getCityName());
+        });
+        BookingStatusPageView holds = rows.get(10);
+        assertEquals("TEMPORARY_HOLD", holds.getStatusName());
+        assertEquals(0L, holds.getStatusTotal());
+        assertNull(holds.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void assertEventCards(List<EventCardView> events, int expectedSize) {
+        assertEquals(expectedSize, events.size());
+        events.forEach(event -> {
+            assertNotNull(event.getTitle());
+            assertNotNull(event.getTypeDisplayName());
+            assertNotNull(event.getVenueName());
+            assertNotNull(event.getCityName());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void assertBookingRows(List<BookingSummaryView> bookings) {
+        assertEquals(20, bookings.size());
+        bookings.forEach(booking -> {
+            assertEquals("Purchased", booking.getStatusDisplayName());
+            assertNotNull(booking.getEventTitle());
+            assertNotNull(booking.getVenueAddress());
+            assertNotNull(booking.getCityName());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
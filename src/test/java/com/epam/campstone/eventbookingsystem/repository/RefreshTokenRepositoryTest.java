@@ -0,0 +1,88 @@
+package com.epam.campstone.eventbookingsystem.repository;
+
+import com.epam.campstone.eventbookingsystem.repository.projection.RefreshTokenView;
+import com.epam.campstone.eventbookingsystem.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the refresh-token lookup, the single-use guarantee that reuse detection relies on and the
+ * batched sweep of expired tokens.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenRepositoryTest {
+
+    private static final String EMAIL = "refresh@example.com";
+    private static final String TOKEN = "refresh-token-value";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private UUID familyId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO country (name) VALUES ('Refreshland')");
+        jdbcTemplate.update("INSERT INTO app_user (first_name, last_name, email, role_id, country_id, is_active) " +
+                "SELECT 'Refresh', 'Token', ?, 2, id, TRUE FROM country WHERE name = 'Refreshland'", EMAIL);
+        familyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO refresh_tokens (user_id, token_hash, family_id, expiry_date) " +
+                        "SELECT id, ?, ?, NOW() + INTERVAL '1 hour' FROM app_user WHERE email = ?",
+                TokenHashUtil.sha256Hex(TOKEN), familyId, EMAIL);
+    }
+
+    @Test
+    void findByTokenHash_ShouldReturnTokenWithAccessTokenClaims() {
+        RefreshTokenView token = refreshTokenRepository.findByTokenHash(TokenHashUtil.sha256Hex(TOKEN)).orElseThrow();
+
+        assertEquals(familyId, token.getFamilyId());
+        assertEquals(EMAIL, token.getEmail());
+        assertNotNull(token.getRoleName());
+        assertTrue(token.getActive());
+        assertNull(token.getUsedAt());
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenHashUtil.sha256Hex("unknown")).isEmpty());
+    }
+
+    @Test
+    void markUsed_ShouldSucceedOnlyOnce() {
+        Long id = refreshTokenRepository.findByTokenHash(TokenHashUtil.sha256Hex(TOKEN)).orElseThrow().getId();
+
+        assertEquals(1, refreshTokenRepository.markUsed(id, Instant.now()));
+        assertEquals(0, refreshTokenRepository.markUsed(id, Instant.now()));
+        assertEquals(1, refreshTokenRepository.deleteByFamilyId(familyId));
+    }
+
+    @Test
+    void deleteExpiredBatch_ShouldDeleteOnlyExpiredTokensInBoundedBatches() {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (user_id, token_hash, family_id, expiry_date) " +
+                "SELECT u.id, md5('expired' || g), gen_random_uuid(), NOW() - g * INTERVAL '1 minute' " +
+                "FROM generate_series(1, 5) g, app_user u WHERE u.email = ?", EMAIL);
+
+        assertEquals(3, refreshTokenRepository.deleteExpiredBatch(Instant.now(), 3));
+        assertEquals(2, refreshTokenRepository.deleteExpiredBatch(Instant.now(), 3));
+        assertEquals(0, refreshTokenRepository.deleteExpiredBatch(Instant.now(), 3));
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenHashUtil.sha256Hex(TOKEN)).isPresent());
+    }
+}
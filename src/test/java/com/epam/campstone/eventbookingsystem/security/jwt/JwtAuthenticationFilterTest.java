@@ -0,0 +1,57 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtUtils jwtUtils = new JwtUtils(new JwtKeyRing("hTt4nhP60r2FquKlytCN6OcJSevpvn7+6nRlqW8DiSg=", ""), 60_000, 100);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtils);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithValidBearerToken_ShouldAuthenticateFromClaimsWithoutSession() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken(7L, "john@example.com", "USER"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(new JwtPrincipal(7L, "john@example.com", "USER"), authentication.getPrincipal());
+        assertEquals("john@example.com", authentication.getName());
+        assertEquals("USER", authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void doFilter_WithInvalidBearerToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer not-a-token");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+}
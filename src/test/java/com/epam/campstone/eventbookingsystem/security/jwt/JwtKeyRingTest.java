@@ -0,0 +1,97 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    @Test
+    void rotation_ShouldSignWithNewestKeyAndVerifyUntilOldKeyIsWithdrawn() throws Exception {
+        // Given
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        writeKeyPair("2026-01", rsa.generateKeyPair());
+        JwtKeyRing keyRing = new JwtKeyRing("", keyDirectory.toString());
+        JwtUtils jwtUtils = new JwtUtils(keyRing, 60_000, 100);
+        String oldToken = jwtUtils.generateToken(1L, "john@example.com", "USER");
+
+        // When
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        writeKeyPair("2026-02", ec.generateKeyPair());
+        Files.delete(keyDirectory.resolve("2026-01.key"));
+        keyRing.refresh();
+        String newToken = jwtUtils.generateToken(1L, "john@example.com", "USER");
+
+        // Then
+        assertEquals("2026-01", header(oldToken).get("kid"));
+        assertEquals("RS256", header(oldToken).get("alg"));
+        assertEquals("2026-02", header(newToken).get("kid"));
+        assertEquals("ES256", header(newToken).get("alg"));
+        assertTrue(jwtUtils.validateJwtToken(oldToken));
+        assertTrue(jwtUtils.validateJwtToken(newToken));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.jwkSet().get("keys");
+        assertEquals(List.of("2026-01", "2026-02"), keys.stream().map(key -> key.get("kid")).toList());
+        assertTrue(keys.stream().noneMatch(key -> key.containsKey("d")));
+
+        // When the old public key is withdrawn
+        Files.delete(keyDirectory.resolve("2026-01.pub"));
+        keyRing.refresh();
+
+        // Then tokens it signed are rejected, even though they were verified before
+        assertFalse(jwtUtils.validateJwtToken(oldToken));
+        assertTrue(jwtUtils.validateJwtToken(newToken));
+    }
+
+    @Test
+    void verificationOnlyNode_ShouldVerifyButNotSign() throws Exception {
+        // Given
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        writeKeyPair("2026-01", rsa.generateKeyPair());
+        JwtUtils issuer = new JwtUtils(new JwtKeyRing("", keyDirectory.toString()), 60_000, 100);
+        String token = issuer.generateToken(1L, "john@example.com", "USER");
+        Files.delete(keyDirectory.resolve("2026-01.key"));
+
+        // When
+        JwtUtils verifier = new JwtUtils(new JwtKeyRing("", keyDirectory.toString()), 60_000, 100);
+
+        // Then
+        assertTrue(verifier.validateJwtToken(token));
+        assertThrows(IllegalStateException.class, () -> verifier.generateToken(1L, "john@example.com", "USER"));
+    }
+
+    private void writeKeyPair(String keyId, KeyPair keyPair) throws Exception {
+        Files.writeString(keyDirectory.resolve(keyId + ".pub"),
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        Files.writeString(keyDirectory.resolve(keyId + ".key"),
+                pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static Map<?, ?> header(String token) throws Exception {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return new ObjectMapper().readValue(header, Map.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.campstone.eventbookingsystem.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "hTt4nhP60r2FquKlytCN6OcJSevpvn7+6nRlqW8DiSg=";
+    private static final String OTHER_SECRET = "3q2+7wAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=";
+
+    @Test
+    void parseJwtToken_WhenTokenIsRepeated_ShouldReturnCachedClaims() {
+        // Given
+        JwtUtils jwtUtils = new JwtUtils(new JwtKeyRing(SECRET, ""), 60_000, 100);
+        String token = jwtUtils.generateToken(1L, "john@example.com", "USER");
+
+        // When
+        Optional<Claims> first = jwtUtils.parseJwtToken(token);
+        Optional<Claims> second = jwtUtils.parseJwtToken(token);
+
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals("john@example.com", first.get().getSubject());
+        assertEquals(1L, first.get().get(JwtUtils.USER_ID_CLAIM, Long.class));
+        assertEquals("USER", first.get().get(JwtUtils.ROLE_CLAIM, String.class));
+        assertSame(first.get(), second.orElseThrow());
+    }
+
+    @Test
+    void validateJwtToken_WhenSignedWithAnotherKey_ShouldReject() {
+        // Given
+        String token = new JwtUtils(new JwtKeyRing(OTHER_SECRET, ""), 60_000, 100).generateToken(1L, "john@example.com", "USER");
+
+        // When/Then
+        assertFalse(new JwtUtils(new JwtKeyRing(SECRET, ""), 60_000, 100).validateJwtToken(token));
+    }
+
+    @Test
+    void validateJwtToken_WhenExpired_ShouldReject() {
+        // Given
+        JwtUtils jwtUtils = new JwtUtils(new JwtKeyRing(SECRET, ""), -1_000, 100);
+        String token = jwtUtils.generateToken(1L, "john@example.com", "USER");
+
+        // When/Then
+        assertFalse(jwtUtils.validateJwtToken(token));
+        assertFalse(jwtUtils.validateJwtToken(""));
+    }
+}
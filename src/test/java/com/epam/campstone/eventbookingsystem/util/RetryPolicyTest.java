@@ -0,0 +1,58 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void execute_WhenConflictIsTransient_ShouldRetryUntilSuccess() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(3, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = policy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "done";
+        });
+
+        // Then
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_WhenEveryAttemptConflicts_ShouldGiveUpAfterMaxAttempts() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(2, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When/Then
+        assertThrows(OptimisticLockingFailureException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void execute_WhenOtherExceptionIsThrown_ShouldNotRetry() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(5, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Not enough available spots");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatBitSetTest {
+
+    @Test
+    void tryClaim_WhenSeatAlreadyClaimed_ShouldFail() {
+        // Given
+        SeatBitSet seats = new SeatBitSet(100);
+
+        // When/Then
+        assertTrue(seats.tryClaim(70));
+        assertFalse(seats.tryClaim(70));
+        assertTrue(seats.isClaimed(70));
+        assertEquals(1, seats.claimedCount());
+        assertEquals(99, seats.freeCount());
+    }
+
+    @Test
+    void tryClaimAll_WhenOneSeatTaken_ShouldClaimNothing() {
+        // Given
+        SeatBitSet seats = new SeatBitSet(10);
+        seats.tryClaim(5);
+
+        // When
+        boolean claimed = seats.tryClaimAll(new int[]{1, 2, 5, 7});
+
+        // Then
+        assertFalse(claimed);
+        assertFalse(seats.isClaimed(1));
+        assertFalse(seats.isClaimed(2));
+        assertFalse(seats.isClaimed(7));
+        assertEquals(1, seats.claimedCount());
+    }
+
+    @Test
+    void release_ShouldFreeSeatOnlyOnce() {
+        // Given
+        SeatBitSet seats = new SeatBitSet(10);
+        seats.tryClaim(3);
+
+        // When/Then
+        assertTrue(seats.release(3));
+        assertFalse(seats.release(3));
+        assertEquals(10, seats.freeCount());
+    }
+
+    @Test
+    void tryClaim_WhenContended_ShouldGrantEachSeatOnce() throws Exception {
+        // Given
+        int size = 1_000;
+        SeatBitSet seats = new SeatBitSet(size);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < size; i++) {
+                    if (seats.tryClaim(i)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(size, granted.get());
+        assertEquals(0, seats.freeCount());
+    }
+}
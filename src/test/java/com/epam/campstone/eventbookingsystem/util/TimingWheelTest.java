@@ -0,0 +1,81 @@
+package com.epam.campstone.eventbookingsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_WhenDeadlineNotReached_ShouldReturnNothing() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule(1L, 450);
+
+        // When
+        List<Long> due = wheel.advance(400);
+
+        // Then
+        assertTrue(due.isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_WhenDeadlinePassed_ShouldReturnDueItemsOnce() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule(1L, 200);
+        wheel.schedule(2L, 300);
+        wheel.schedule(3L, 900);
+
+        // When
+        List<Long> due = wheel.advance(350);
+
+        // Then
+        assertEquals(List.of(1L, 2L), due);
+        assertTrue(wheel.advance(400).isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_WhenDeadlineBeyondOneRevolution_ShouldWaitForItsTick() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 4, 0);
+        wheel.schedule(1L, 1_000);
+
+        // When/Then
+        assertTrue(wheel.advance(500).isEmpty());
+        assertTrue(wheel.advance(900).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_WhenJumpingManyRevolutions_ShouldReturnEverythingDue() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 4, 0);
+        wheel.schedule(1L, 150);
+        wheel.schedule(2L, 2_000);
+
+        // When
+        List<Long> due = wheel.advance(10_000);
+
+        // Then
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(1L, 2L)));
+    }
+
+    @Test
+    void schedule_WhenDeadlineInPast_ShouldBeDueOnNextTick() {
+        // Given
+        TimingWheel<Long> wheel = new TimingWheel<>(100, 8, 1_000);
+
+        // When
+        wheel.schedule(1L, 500);
+
+        // Then
+        assertEquals(List.of(1L), wheel.advance(1_100));
+    }
+}